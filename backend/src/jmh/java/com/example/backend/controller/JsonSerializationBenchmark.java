@@ -0,0 +1,82 @@
+package com.example.backend.controller;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.backend.dto.StockLedgerEntry;
+import com.example.backend.entity.StockIn;
+import com.example.backend.entity.StockInDetail;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+// Response serialization with an ObjectMapper configured the way Spring Boot configures it.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({ "100", "5000" })
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private StockIn stockIn;
+    private List<StockLedgerEntry> ledger;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        LocalDateTime date = LocalDateTime.of(2026, 1, 1, 9, 30);
+
+        stockIn = new StockIn();
+        stockIn.setId(1L);
+        stockIn.setRunningNumber("SI000001");
+        stockIn.setDate(date);
+        stockIn.setTenantId(1L);
+        for (int i = 0; i < size; i++) {
+            StockInDetail detail = new StockInDetail();
+            detail.setId((long) i);
+            detail.setProductName("Product " + i);
+            detail.setSku("SKU-" + i);
+            detail.setQuantity(i % 50 + 1);
+            detail.setStockIn(stockIn);
+            stockIn.getDetails().add(detail);
+        }
+
+        ledger = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ledger.add(new StockLedgerEntry(i % 2 == 0 ? "IN" : "OUT", (long) i, "SI" + i, date.minusMinutes(i),
+                "Product " + i, "SKU-" + i, i % 50 + 1, 7L, "Clerk"));
+        }
+    }
+
+    @Benchmark
+    public byte[] stockInWithDetails() throws Exception {
+        return objectMapper.writeValueAsBytes(stockIn);
+    }
+
+    @Benchmark
+    public byte[] ledgerEntries() throws Exception {
+        return objectMapper.writeValueAsBytes(ledger);
+    }
+}
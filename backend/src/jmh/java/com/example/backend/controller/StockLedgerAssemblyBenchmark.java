@@ -0,0 +1,124 @@
+package com.example.backend.controller;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.backend.dto.StockLedgerEntry;
+import com.example.backend.entity.StockIn;
+import com.example.backend.entity.StockInDetail;
+import com.example.backend.entity.StockOut;
+import com.example.backend.entity.StockOutDetail;
+import com.example.backend.repository.StockLedgerJdbcRepository.LedgerRow;
+
+// Ledger response assembly. "rowsToPage" is what StockLedgerController does with rows that
+// come back from stock_ledger already ordered; "documentsMergeAndSort" is the old in-memory
+// approach of flattening every document's details and sorting them, kept as the baseline.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StockLedgerAssemblyBenchmark {
+
+    @Param({ "50", "5000" })
+    private int lines;
+
+    private List<LedgerRow> rows;
+    private List<StockIn> stockIns;
+    private List<StockOut> stockOuts;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+        rows = new ArrayList<>(lines);
+        for (int i = lines; i > 0; i--) {
+            rows.add(new LedgerRow(new StockLedgerEntry(i % 2 == 0 ? "IN" : "OUT", (long) i, "SI" + i,
+                start.plusMinutes(i), "Product " + i, "SKU-" + (i % 200), 1 + random.nextInt(20), 7L, "Clerk"),
+                (long) i));
+        }
+
+        // Five lines per document, dates deliberately out of order.
+        stockIns = new ArrayList<>();
+        stockOuts = new ArrayList<>();
+        for (int doc = 0; doc < lines / 5; doc++) {
+            LocalDateTime date = start.plusMinutes(random.nextInt(100_000));
+            if (doc % 2 == 0) {
+                StockIn stockIn = new StockIn();
+                stockIn.setId((long) doc);
+                stockIn.setRunningNumber("SI" + doc);
+                stockIn.setDate(date);
+                for (int line = 0; line < 5; line++) {
+                    StockInDetail detail = new StockInDetail();
+                    detail.setProductName("Product " + line);
+                    detail.setSku("SKU-" + line);
+                    detail.setQuantity(1 + random.nextInt(20));
+                    stockIn.getDetails().add(detail);
+                }
+                stockIns.add(stockIn);
+            } else {
+                StockOut stockOut = new StockOut();
+                stockOut.setId((long) doc);
+                stockOut.setRunningNumber("SO" + doc);
+                stockOut.setDate(date);
+                for (int line = 0; line < 5; line++) {
+                    StockOutDetail detail = new StockOutDetail();
+                    detail.setProductName("Product " + line);
+                    detail.setSku("SKU-" + line);
+                    detail.setQuantity(1 + random.nextInt(20));
+                    stockOut.getDetails().add(detail);
+                }
+                stockOuts.add(stockOut);
+            }
+        }
+    }
+
+    @Benchmark
+    public Object rowsToPage() {
+        List<StockLedgerEntry> entries = new ArrayList<>(rows.size());
+        for (LedgerRow row : rows) {
+            entries.add(row.getEntry());
+        }
+        String nextCursor = rows.get(rows.size() - 1).toCursor().encode();
+        return List.of(entries, nextCursor);
+    }
+
+    @Benchmark
+    public List<StockLedgerEntry> documentsMergeAndSort() {
+        List<StockLedgerEntry> entries = new ArrayList<>();
+        for (StockIn stockIn : stockIns) {
+            for (StockInDetail detail : stockIn.getDetails()) {
+                entries.add(new StockLedgerEntry("IN", stockIn.getId(), stockIn.getRunningNumber(),
+                    stockIn.getDate(), detail.getProductName(), detail.getSku(), detail.getQuantity(),
+                    stockIn.getCreatedBy(), null));
+            }
+        }
+        for (StockOut stockOut : stockOuts) {
+            for (StockOutDetail detail : stockOut.getDetails()) {
+                entries.add(new StockLedgerEntry("OUT", stockOut.getId(), stockOut.getRunningNumber(),
+                    stockOut.getDate(), detail.getProductName(), detail.getSku(), detail.getQuantity(),
+                    stockOut.getCreatedBy(), null));
+            }
+        }
+        entries.sort(Comparator.comparing(StockLedgerEntry::getDate).reversed());
+        return entries;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.backend.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// The CPU side of running numbers: formatting a reserved value and parsing the last issued
+// number when a tenant's counter is first created.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RunningNumberBenchmark {
+
+    private long value;
+    private int width;
+
+    @Setup
+    public void setUp() {
+        value = 4217;
+        width = 6;
+    }
+
+    @Benchmark
+    public String format() {
+        return RunningNumberAllocator.format(RunningNumberAllocator.STOCK_IN, value++, width);
+    }
+
+    @Benchmark
+    public long parse() {
+        return RunningNumberAllocator.parse("SI004217");
+    }
+
+    @Benchmark
+    public long parseLegacyPrefixed() {
+        return RunningNumberAllocator.parse("SI-2024-004217");
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.backend.loadtest;
+
+import java.util.Arrays;
+
+// Every latency of one endpoint, kept in full so percentiles are exact rather than bucketed.
+class LatencyRecorder {
+
+    private long[] nanos = new long[1024];
+    private int count;
+    private int errors;
+
+    synchronized void record(long elapsedNanos, boolean ok) {
+        if (count == nanos.length) {
+            nanos = Arrays.copyOf(nanos, count * 2);
+        }
+        nanos[count++] = elapsedNanos;
+        if (!ok) {
+            errors++;
+        }
+    }
+
+    synchronized Summary summarize(double seconds) {
+        long[] sorted = Arrays.copyOf(nanos, count);
+        Arrays.sort(sorted);
+        return new Summary(count, errors, count / seconds, percentile(sorted, 50), percentile(sorted, 95),
+            percentile(sorted, 99), sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0);
+    }
+
+    // Nearest-rank percentile, in milliseconds.
+    private static double percentile(long[] sorted, int p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1_000_000.0;
+    }
+
+    record Summary(int count, int errors, double throughput, double p50, double p95, double p99, double max) {
+    }
+}
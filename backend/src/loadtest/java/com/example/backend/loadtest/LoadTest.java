@@ -0,0 +1,218 @@
+package com.example.backend.loadtest;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.backend.BackendApplication;
+import com.example.backend.loadtest.LatencyRecorder.Summary;
+import com.example.backend.loadtest.LoadTestSeeder.Tenant;
+import com.example.backend.repository.StockLedgerJdbcRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// Peak-hour load against the real application: boots the backend on a random port over an
+// in-memory H2 database in PostgreSQL mode, seeds tenants, then has virtual users log in,
+// create stock-outs, add lines, finalize and read the ledger over HTTP. Prints throughput and
+// p50/p95/p99 per endpoint and writes them to target/loadtest-result-<thread mode>.json.
+//
+//   mvn -Ploadtest test-compile exec:java -Dloadtest.virtual-users=64 -Dloadtest.duration-seconds=120
+//
+// -Dloadtest.virtual-threads=true runs the server with spring.threads.virtual.enabled, so the
+// platform and virtual thread modes can be compared with the same scenario (Java 21 or newer).
+public class LoadTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final LoadTestConfig config;
+    private final String baseUrl;
+    private final List<Tenant> tenants;
+    private final Map<String, LatencyRecorder> recorders = new ConcurrentHashMap<>();
+    private volatile long measureFrom;
+    private volatile long stopAt;
+
+    LoadTest(LoadTestConfig config, String baseUrl, List<Tenant> tenants) {
+        this.config = config;
+        this.baseUrl = baseUrl;
+        this.tenants = tenants;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        if (config.virtualThreads() && Runtime.version().feature() < 21) {
+            System.out.println("Virtual threads need Java 21 or newer; this run uses platform threads");
+        }
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendApplication.class)
+                .profiles("test")
+                .properties(
+                    "server.port=0",
+                    "spring.main.banner-mode=off",
+                    "logging.level.root=WARN",
+                    "spring.datasource.url=jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                        + "DEFAULT_NULL_ORDERING=HIGH;LOCK_TIMEOUT=10000",
+                    "spring.datasource.hikari.maximum-pool-size=" + config.poolSize(),
+                    "server.tomcat.threads.max=" + config.tomcatThreads(),
+                    "spring.threads.virtual.enabled=" + config.virtualThreads(),
+                    "uploads.directory=target/loadtest-uploads")
+                .run(args)) {
+
+            long seedStart = System.nanoTime();
+            List<Tenant> tenants = new LoadTestSeeder(context.getBean(JdbcTemplate.class),
+                context.getBean(StockLedgerJdbcRepository.class), config).seed();
+            System.out.printf("Seeded %d tenants in %.1f s%n", tenants.size(),
+                (System.nanoTime() - seedStart) / 1e9);
+
+            String port = context.getEnvironment().getProperty("local.server.port");
+            LoadTest loadTest = new LoadTest(config, "http://localhost:" + port, tenants);
+            Map<String, Summary> results = loadTest.run();
+            loadTest.report(results);
+        }
+    }
+
+    Map<String, Summary> run() throws InterruptedException {
+        long now = System.nanoTime();
+        measureFrom = now + TimeUnit.SECONDS.toNanos(config.warmupSeconds());
+        stopAt = measureFrom + TimeUnit.SECONDS.toNanos(config.durationSeconds());
+
+        ExecutorService pool = Executors.newFixedThreadPool(config.virtualUsers());
+        for (int i = 0; i < config.virtualUsers(); i++) {
+            Tenant tenant = tenants.get(i % tenants.size());
+            int user = (i / tenants.size()) % tenant.emails().size();
+            long seed = config.seed() + i;
+            pool.execute(() -> new VirtualUser(tenant, user, new Random(seed)).run());
+        }
+        pool.shutdown();
+        pool.awaitTermination(config.warmupSeconds() + config.durationSeconds() + 60L, TimeUnit.SECONDS);
+
+        Map<String, Summary> results = new TreeMap<>();
+        recorders.forEach((endpoint, recorder) -> results.put(endpoint, recorder.summarize(config.durationSeconds())));
+        return results;
+    }
+
+    void report(Map<String, Summary> results) throws IOException {
+        System.out.printf("%nThread mode: %s, pool size %d, %d virtual users%n", config.threadMode(),
+            config.poolSize(), config.virtualUsers());
+        System.out.printf("%-48s %8s %7s %9s %9s %9s %9s %9s%n",
+            "endpoint", "count", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        results.forEach((endpoint, s) -> System.out.printf("%-48s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+            endpoint, s.count(), s.errors(), s.throughput(), s.p50(), s.p95(), s.p99(), s.max()));
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("config", config);
+        json.put("endpoints", results);
+        Path output = Path.of("target", "loadtest-result-" + config.threadMode() + ".json");
+        Files.createDirectories(output.getParent());
+        JSON.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), json);
+        System.out.println("\nResults written to " + output.toAbsolutePath());
+    }
+
+    // One clerk working through stock-outs for a single tenant, with its own session cookie.
+    private class VirtualUser {
+        private final Tenant tenant;
+        private final int user;
+        private final Random random;
+        private final HttpClient client = HttpClient.newBuilder()
+            .cookieHandler(new CookieManager())
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+        VirtualUser(Tenant tenant, int user, Random random) {
+            this.tenant = tenant;
+            this.user = user;
+            this.random = random;
+        }
+
+        void run() {
+            int iteration = 0;
+            while (System.nanoTime() < stopAt) {
+                if (iteration++ % config.reloginEvery() == 0) {
+                    post("POST /api/auth/login", "/api/auth/login", Map.of(
+                        "email", tenant.emails().get(user), "password", LoadTestSeeder.PASSWORD));
+                }
+
+                JsonNode stockOut = post("POST /api/stock-out", "/api/stock-out", Map.of(
+                    "tenantId", tenant.id(),
+                    "createdBy", tenant.userIds().get(user),
+                    "description", "Load test order"));
+                if (stockOut == null) {
+                    continue;
+                }
+                long id = stockOut.get("id").asLong();
+
+                for (int line = 0; line < config.linesPerStockOut(); line++) {
+                    post("POST /api/stock-out-details/stock-out/{id}", "/api/stock-out-details/stock-out/" + id,
+                        Map.of("productName", "Product", "sku", pickSku(), "quantity", 1 + random.nextInt(3)));
+                }
+                post("POST /api/stock-out/{id}/finalize", "/api/stock-out/" + id + "/finalize", Map.of());
+                get("GET /api/stock-ledger/tenant/{id}/page", "/api/stock-ledger/tenant/" + tenant.id()
+                    + "/page?limit=50");
+            }
+        }
+
+        // Half of all lines hit a few hot SKUs, as best sellers do.
+        private String pickSku() {
+            List<String> codes = tenant.skuCodes();
+            if (random.nextBoolean()) {
+                return codes.get(random.nextInt(Math.min(config.hotSkus(), codes.size())));
+            }
+            return codes.get(random.nextInt(codes.size()));
+        }
+
+        private JsonNode post(String endpoint, String path, Object body) {
+            try {
+                return send(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(JSON.writeValueAsBytes(body)))
+                    .build());
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        private JsonNode get(String endpoint, String path) {
+            return send(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build());
+        }
+
+        private JsonNode send(String endpoint, HttpRequest request) {
+            long start = System.nanoTime();
+            boolean ok = false;
+            JsonNode body = null;
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                ok = response.statusCode() / 100 == 2;
+                if (ok && !response.body().isEmpty()) {
+                    body = JSON.readTree(response.body());
+                }
+            } catch (IOException ex) {
+                // Counted as an error below.
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            if (start >= measureFrom && start < stopAt) {
+                recorders.computeIfAbsent(endpoint, key -> new LatencyRecorder())
+                    .record(System.nanoTime() - start, ok);
+            }
+            return ok ? body : null;
+        }
+    }
+}
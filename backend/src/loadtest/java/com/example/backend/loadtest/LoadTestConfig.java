@@ -0,0 +1,54 @@
+package com.example.backend.loadtest;
+
+// Every knob of a run, read from -Dloadtest.* system properties.
+record LoadTestConfig(
+    int tenants,
+    int usersPerTenant,
+    int productsPerTenant,
+    int skusPerProduct,
+    int initialQuantity,
+    int historyDocumentsPerTenant,
+    int linesPerDocument,
+    int virtualUsers,
+    int warmupSeconds,
+    int durationSeconds,
+    int linesPerStockOut,
+    int hotSkus,
+    int reloginEvery,
+    int poolSize,
+    int tomcatThreads,
+    boolean virtualThreads,
+    long seed
+) {
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+            intProperty("tenants", 10),
+            intProperty("users-per-tenant", 5),
+            intProperty("products-per-tenant", 200),
+            intProperty("skus-per-product", 4),
+            intProperty("initial-quantity", 1_000_000),
+            intProperty("history-documents-per-tenant", 500),
+            intProperty("lines-per-document", 5),
+            intProperty("virtual-users", 32),
+            intProperty("warmup-seconds", 10),
+            intProperty("duration-seconds", 60),
+            intProperty("lines-per-stock-out", 5),
+            intProperty("hot-skus", 10),
+            intProperty("relogin-every", 20),
+            intProperty("pool-size", 10),
+            intProperty("tomcat-threads", 200),
+            Boolean.getBoolean("loadtest.virtual-threads"),
+            intProperty("seed", 42)
+        );
+    }
+
+    // The mode the server actually runs in; Spring Boot ignores virtual threads before Java 21.
+    String threadMode() {
+        return virtualThreads && Runtime.version().feature() >= 21 ? "virtual" : "platform";
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.getInteger("loadtest." + name, defaultValue);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.backend.loadtest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.example.backend.repository.StockLedgerJdbcRepository;
+
+// Fills the database with tenants that look like a busy shop: staff accounts, a catalogue of
+// products with colour/size SKUs, and a history of finalized stock-ins already in the ledger.
+class LoadTestSeeder {
+
+    static final String PASSWORD = "loadtest";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StockLedgerJdbcRepository stockLedgerJdbcRepository;
+    private final LoadTestConfig config;
+
+    LoadTestSeeder(JdbcTemplate jdbcTemplate, StockLedgerJdbcRepository stockLedgerJdbcRepository,
+            LoadTestConfig config) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.stockLedgerJdbcRepository = stockLedgerJdbcRepository;
+        this.config = config;
+    }
+
+    List<Tenant> seed() {
+        String hash = new BCryptPasswordEncoder().encode(PASSWORD);
+        Random random = new Random(config.seed());
+        List<Tenant> tenants = new ArrayList<>();
+        for (int t = 1; t <= config.tenants(); t++) {
+            long tenantId = 9000 + t;
+            tenants.add(seedTenant(tenantId, hash, random));
+        }
+        stockLedgerJdbcRepository.backfill("IN");
+        return tenants;
+    }
+
+    private Tenant seedTenant(long tenantId, String hash, Random random) {
+        List<Object[]> users = new ArrayList<>();
+        for (int u = 0; u < config.usersPerTenant(); u++) {
+            users.add(new Object[] { "user" + u + "@tenant" + tenantId + ".test", hash, "User " + u, tenantId });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (email, password, name, company_name, employment_status,"
+            + " is_deleted, tenantid) VALUES (?, ?, ?, 'Load Test Co', 0, FALSE, ?)", users);
+        List<Long> userIds = jdbcTemplate.queryForList(
+            "SELECT id FROM users WHERE tenantid = ? ORDER BY id", Long.class, tenantId);
+
+        List<Object[]> products = new ArrayList<>();
+        for (int p = 0; p < config.productsPerTenant(); p++) {
+            products.add(new Object[] { "Product " + p, tenantId });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO products (product_name, tenantid) VALUES (?, ?)", products);
+        List<Long> productIds = jdbcTemplate.queryForList(
+            "SELECT id FROM products WHERE tenantid = ? ORDER BY id", Long.class, tenantId);
+
+        List<Object[]> skus = new ArrayList<>();
+        List<String> skuCodes = new ArrayList<>();
+        for (int p = 0; p < productIds.size(); p++) {
+            for (int s = 0; s < config.skusPerProduct(); s++) {
+                String code = "T" + tenantId + "-P" + p + "-S" + s;
+                skuCodes.add(code);
+                skus.add(new Object[] { code, "Colour " + s, "M", config.initialQuantity(), tenantId,
+                    productIds.get(p) });
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO product_skus (sku_code, colour, size, quantity_available, tenantid,"
+            + " product_id) VALUES (?, ?, ?, ?, ?, ?)", skus);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int d = 0; d < config.historyDocumentsPerTenant(); d++) {
+            jdbcTemplate.update("INSERT INTO stock_in (running_number, description, stock_date, created_by,"
+                + " tenant_id, finalized) VALUES (?, 'Seeded receipt', ?, ?, ?, TRUE)",
+                "HIST" + d, now.minusMinutes(random.nextInt(60 * 24 * 365)),
+                userIds.get(random.nextInt(userIds.size())), tenantId);
+        }
+        List<Long> documentIds = jdbcTemplate.queryForList(
+            "SELECT id FROM stock_in WHERE tenant_id = ? ORDER BY id", Long.class, tenantId);
+        List<Object[]> lines = new ArrayList<>();
+        for (Long documentId : documentIds) {
+            for (int l = 0; l < config.linesPerDocument(); l++) {
+                lines.add(new Object[] { "Product", skuCodes.get(random.nextInt(skuCodes.size())),
+                    1 + random.nextInt(20), documentId });
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO stock_in_details (product_name, sku, quantity, stock_in_id)"
+            + " VALUES (?, ?, ?, ?)", lines);
+
+        List<String> emails = new ArrayList<>();
+        for (int u = 0; u < config.usersPerTenant(); u++) {
+            emails.add("user" + u + "@tenant" + tenantId + ".test");
+        }
+        return new Tenant(tenantId, emails, userIds, skuCodes);
+    }
+
+    record Tenant(long id, List<String> emails, List<Long> userIds, List<String> skuCodes) {
+    }
+}
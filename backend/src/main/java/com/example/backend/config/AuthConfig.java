@@ -0,0 +1,18 @@
+package com.example.backend.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.backend.service.InMemoryTokenDenylist;
+import com.example.backend.service.TokenDenylist;
+
+@Configuration
+public class AuthConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(TokenDenylist.class)
+    public TokenDenylist tokenDenylist() {
+        return new InMemoryTokenDenylist();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.backend.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+// Hibernate second-level cache for the Product / ProductSku catalog, on a local Caffeine JCache
+// manager built here so the region bounds come from application.properties. Entity regions
+// hold one entry per row. Query results (id lists) are split by how many entries a tenant can
+// create: the tenant region holds the tenant-wide lists, at most one per tenant and query, so
+// a tenant with many products cannot push other tenants' lists out; the product region holds
+// the per-product lists, where it can only churn cheap single-product entries. JPA writes keep
+// every region up to date; the JDBC stock adjustments evict their rows in
+// ProductSkuRepositoryImpl.
+@Configuration
+public class CatalogCacheConfig {
+
+    public static final String PRODUCT_REGION = "catalog.product";
+    public static final String PRODUCT_SKU_REGION = "catalog.product-sku";
+    public static final String TENANT_QUERY_REGION = "catalog.tenant-queries";
+    public static final String PRODUCT_QUERY_REGION = "catalog.product-queries";
+
+    // Hibernate's last-write time per table; must never be evicted while query results remain.
+    static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager catalogCacheManager(
+        @Value("${catalog-cache.entities.maximum-size:100000}") long entitySize,
+        @Value("${catalog-cache.entities.expire-after-write:30m}") Duration entityTtl,
+        @Value("${catalog-cache.tenant-queries.maximum-size:2000}") long tenantQuerySize,
+        @Value("${catalog-cache.product-queries.maximum-size:10000}") long productQuerySize,
+        @Value("${catalog-cache.queries.expire-after-write:5m}") Duration queryTtl
+    ) {
+        CaffeineCachingProvider provider = (CaffeineCachingProvider) Caching.getCachingProvider(
+            CaffeineCachingProvider.class.getName());
+        // A manager of its own per application context, so contexts in one JVM never share regions.
+        CacheManager cacheManager = provider.getCacheManager(
+            URI.create("catalog-cache-" + UUID.randomUUID()), CatalogCacheConfig.class.getClassLoader());
+        cacheManager.createCache(PRODUCT_REGION, bounded(entitySize, entityTtl));
+        cacheManager.createCache(PRODUCT_SKU_REGION, bounded(entitySize, entityTtl));
+        cacheManager.createCache(TENANT_QUERY_REGION, bounded(tenantQuerySize, queryTtl));
+        cacheManager.createCache(PRODUCT_QUERY_REGION, bounded(productQuerySize, queryTtl));
+        cacheManager.createCache(TIMESTAMPS_REGION, new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer catalogCacheCustomizer(CacheManager catalogCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, catalogCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maximumSize, Duration expireAfterWrite) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.NANOSECONDS.convert(expireAfterWrite)));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.backend.config;
+
+import java.io.IOException;
+import java.util.Map;
+
+import com.example.backend.service.ProductImageStore;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+// Writes an entity's ImageVariant paths, dropping those whose files do not exist yet, so a
+// client never gets a variant URL that 404s. Spring's ObjectMapper creates it as a bean,
+// which gives it the store.
+public class ImageVariantsSerializer extends JsonSerializer<Map<String, String>> {
+
+    private final ProductImageStore productImageStore;
+
+    public ImageVariantsSerializer(ProductImageStore productImageStore) {
+        this.productImageStore = productImageStore;
+    }
+
+    @Override
+    public void serialize(Map<String, String> variantPaths, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        provider.defaultSerializeValue(productImageStore.existingVariants(variantPaths), gen);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.backend.config;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+
+// Logs how many statements each request ran: at DEBUG always, at WARN once a request goes
+// over query-count.warn-threshold, which is how new N+1 loops show up in production logs.
+// Counts are reset when a request starts and left in place when it ends, so a test can read
+// QueryCountHolder after a MockMvc call.
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    @Value("${query-count.warn-threshold:30}")
+    private int warnThreshold;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCountHolder.clear();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            QueryCount count = QueryCountHolder.getGrandTotal();
+            boolean overBudget = count.getTotal() > warnThreshold;
+            if (overBudget || log.isDebugEnabled()) {
+                String message = "{} {} ran {} statements ({} select, {} insert, {} update, {} delete) in {} ms";
+                Object[] args = { request.getMethod(), request.getRequestURI(), count.getTotal(),
+                    count.getSelect(), count.getInsert(), count.getUpdate(), count.getDelete(), count.getTime() };
+                if (overBudget) {
+                    log.warn(message, args);
+                } else {
+                    log.debug(message, args);
+                }
+            }
+        }
+    }
+}
@@ -1,20 +1,27 @@
 package com.example.backend.config;
 
-import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
 
 @Configuration
-public class StaticResourceConfig implements WebMvcConfigurer {
-    private final Path uploadDir = Paths.get("uploads");
+public class StaticResourceConfig {
 
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        String location = uploadDir.toAbsolutePath().toUri().toString();
-        registry.addResourceHandler("/uploads/**")
-                .addResourceLocations(location);
+    @Bean
+    public UploadResourceHandler uploadResourceHandler(@Value("${uploads.directory:uploads}") String directory) {
+        return new UploadResourceHandler(Paths.get(directory));
+    }
+
+    // Ahead of Spring Boot's catch-all /** resource mapping, behind the controllers.
+    @Bean
+    public SimpleUrlHandlerMapping uploadHandlerMapping(UploadResourceHandler uploadResourceHandler) {
+        SimpleUrlHandlerMapping mapping = new SimpleUrlHandlerMapping(Map.of("/uploads/**", uploadResourceHandler));
+        mapping.setOrder(Ordered.LOWEST_PRECEDENCE - 2);
+        return mapping;
     }
 }
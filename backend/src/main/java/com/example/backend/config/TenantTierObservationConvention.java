@@ -0,0 +1,58 @@
+package com.example.backend.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+import com.example.backend.dto.Session;
+import com.example.backend.service.AuthSessions;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import jakarta.servlet.http.HttpServletRequest;
+
+// Adds a tenant.tier tag to http.server.requests. Tiers come from metrics.tenant-tiers.<tier>
+// lists of tenant ids; unlisted tenants are "standard" and requests without a session are
+// "none". Tagging by tier rather than tenant id keeps the number of series bounded.
+@Component
+public class TenantTierObservationConvention extends DefaultServerRequestObservationConvention {
+
+    static final String TAG = "tenant.tier";
+    static final String DEFAULT_TIER = "standard";
+    static final String NO_TENANT = "none";
+
+    private final Map<Long, String> tiers = new HashMap<>();
+
+    private final AuthSessions authSessions;
+
+    public TenantTierObservationConvention(Environment environment, AuthSessions authSessions) {
+        this.authSessions = authSessions;
+        Binder.get(environment)
+            .bind("metrics.tenant-tiers", Bindable.mapOf(String.class, Long[].class))
+            .orElse(Map.of())
+            .forEach((tier, tenantIds) -> {
+                for (Long id : tenantIds) {
+                    tiers.put(id, tier);
+                }
+            });
+    }
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(KeyValue.of(TAG, tier(context.getCarrier())));
+    }
+
+    String tier(HttpServletRequest request) {
+        Long tenantId = authSessions.current(request).map(Session::getTenantID).orElse(null);
+        if (tenantId == null) {
+            return NO_TENANT;
+        }
+        return tiers.getOrDefault(tenantId, DEFAULT_TIER);
+    }
+}
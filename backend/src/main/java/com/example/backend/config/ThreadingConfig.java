@@ -0,0 +1,48 @@
+package com.example.backend.config;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+// With spring.threads.virtual.enabled=true on Java 21 or newer, Spring Boot runs Tomcat
+// requests, streaming responses and @Async methods on virtual threads. JDBC stays blocking,
+// so in that mode the DataSource is gated by a semaphore sized to the Hikari pool.
+@Configuration
+@EnableAsync
+public class ThreadingConfig {
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public static BeanPostProcessor connectionLimitingDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionLimitingDataSource)) {
+                    HikariDataSource hikari = unwrapHikari(dataSource);
+                    if (hikari != null) {
+                        return new ConnectionLimitingDataSource(dataSource, hikari.getMaximumPoolSize(),
+                            hikari.getConnectionTimeout());
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static HikariDataSource unwrapHikari(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.backend.config;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.HttpRequestHandler;
+import org.springframework.web.context.ServletContextAware;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Serves the uploads directory. Files named by their SHA-256 (see ProductImageStore) can never
+// change, so they are cached for a year as immutable with the file name as a strong ETag.
+// Older uploads are revalidated on every use. Both handle If-None-Match/If-Modified-Since,
+// byte ranges, and precompressed .br/.gz siblings.
+public class UploadResourceHandler implements HttpRequestHandler, InitializingBean, ServletContextAware {
+
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("(^|.*/)[0-9a-f]{64}(-[a-z]+)?\\.[a-z0-9]+$");
+
+    private final Path directory;
+    private final ResourceHttpRequestHandler immutable;
+    private final ResourceHttpRequestHandler revalidated;
+
+    public UploadResourceHandler(Path directory) {
+        this.directory = directory;
+        this.immutable = handler(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable(),
+            UploadResourceHandler::filenameAndCoding);
+        this.revalidated = handler(CacheControl.noCache(), UploadResourceHandler::lengthAndModified);
+    }
+
+    @Override
+    public void handleRequest(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        Object path = request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
+        boolean contentAddressed = path != null && CONTENT_ADDRESSED.matcher(path.toString()).matches();
+        (contentAddressed ? immutable : revalidated).handleRequest(request, response);
+    }
+
+    @Override
+    public void setServletContext(ServletContext servletContext) {
+        immutable.setServletContext(servletContext);
+        revalidated.setServletContext(servletContext);
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        Files.createDirectories(directory);
+        FileSystemResource location = new FileSystemResource(directory.toAbsolutePath() + "/");
+        for (ResourceHttpRequestHandler handler : List.of(immutable, revalidated)) {
+            handler.setLocations(List.of(location));
+            handler.afterPropertiesSet();
+        }
+    }
+
+    private static ResourceHttpRequestHandler handler(CacheControl cacheControl,
+            Function<Resource, String> etagGenerator) {
+        ResourceHttpRequestHandler handler = new ResourceHttpRequestHandler();
+        handler.setResourceResolvers(List.of(new EncodedResourceResolver(), new PathResourceResolver()));
+        handler.setResourceHttpMessageConverter(new SendfileResourceHttpMessageConverter());
+        handler.setCacheControl(cacheControl);
+        handler.setEtagGenerator(etagGenerator);
+        return handler;
+    }
+
+    // Compressed siblings are separate representations and need their own strong ETag.
+    private static String filenameAndCoding(Resource resource) {
+        String etag = resource.getFilename();
+        if (resource instanceof HttpResource httpResource) {
+            String coding = httpResource.getResponseHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+            if (coding != null) {
+                etag += "." + coding;
+            }
+        }
+        return etag;
+    }
+
+    private static String lengthAndModified(Resource resource) {
+        try {
+            return Long.toHexString(resource.contentLength()) + "-" + Long.toHexString(resource.lastModified());
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+}
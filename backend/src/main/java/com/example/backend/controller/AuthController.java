@@ -2,10 +2,15 @@ package com.example.backend.controller;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -19,12 +24,18 @@ import com.example.backend.dto.CompanyRegisterRequest;
 import com.example.backend.dto.LoginRequest;
 import com.example.backend.dto.RegisterRequest;
 import com.example.backend.dto.Session;
+import com.example.backend.dto.UserSummary;
 import com.example.backend.entity.CompanyDetail;
 import com.example.backend.entity.User;
 import com.example.backend.repository.CompanyRepository;
 import com.example.backend.repository.UserRepository;
+import com.example.backend.service.AuthSessions;
+import com.example.backend.service.CollectionVersions;
+import com.example.backend.service.PasswordHasher;
+import com.example.backend.service.PasswordHashingBusyException;
+import com.example.backend.service.UserDirectory;
 
-import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.HttpServletRequest;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -32,48 +43,67 @@ public class AuthController {
 
     private final UserRepository userRepository;
     private final CompanyRepository companyrepository;
-    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
-
-    public AuthController(UserRepository userRepository, CompanyRepository companyrepository) {
+    private final PasswordHasher passwordHasher;
+    private final AuthSessions authSessions;
+    private final UserDirectory userDirectory;
+    private final CollectionVersions collectionVersions;
+    private final AsyncTaskExecutor asyncExecutor;
+
+    public AuthController(UserRepository userRepository, CompanyRepository companyrepository,
+            PasswordHasher passwordHasher, AuthSessions authSessions, UserDirectory userDirectory,
+            CollectionVersions collectionVersions,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) AsyncTaskExecutor asyncExecutor) {
         this.userRepository = userRepository;
         this.companyrepository =companyrepository;
+        this.passwordHasher = passwordHasher;
+        this.authSessions = authSessions;
+        this.userDirectory = userDirectory;
+        this.collectionVersions = collectionVersions;
+        this.asyncExecutor = asyncExecutor;
     }
 
+    // Hashing runs on PasswordHasher's pool and the request thread is released meanwhile. What
+    // follows the hash (database writes, the session) runs on the MVC async executor, so the
+    // CPU-sized hashing pool only ever hashes.
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody RegisterRequest req) {
+    public CompletableFuture<ResponseEntity<?>> register(@RequestBody RegisterRequest req) {
         if (req.email == null || req.password == null) {
-            return ResponseEntity.badRequest().body("Email and password required");
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("Email and password required"));
         }
 
         if (userRepository.findByEmail(req.email).isPresent()) {
-            return ResponseEntity.badRequest().body("Email already exists");
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("Email already exists"));
         }
 
-        User u = new User();
-        u.setEmail(req.email);
-        u.setPassword(encoder.encode(req.password)); 
-        u.setName(req.name);
-        u.setCompanyName(req.companyName);
-        u.setEmploymentStatus(req.EmploymentStatus);
-        u.setDeleted(req.IsDeleted);
-        u.setTenantID(req.tenantID);
-
-        userRepository.save(u); 
-
-        return ResponseEntity.ok("Registered");
+        return passwordHasher.encode(req.password).thenApplyAsync(hash -> {
+            User u = new User();
+            u.setEmail(req.email);
+            u.setPassword(hash);
+            u.setName(req.name);
+            u.setCompanyName(req.companyName);
+            u.setEmploymentStatus(req.EmploymentStatus);
+            u.setDeleted(req.IsDeleted);
+            u.setTenantID(req.tenantID);
+
+            userRepository.save(u);
+            userDirectory.invalidate(req.tenantID);
+
+            return ResponseEntity.ok("Registered");
+        }, asyncExecutor);
     }
 
 
-    @PutMapping("/users/{id}")public ResponseEntity<?> updateUser(
+    @PutMapping("/users/{id}")public CompletableFuture<ResponseEntity<?>> updateUser(
         @PathVariable Long id,
         @RequestBody RegisterRequest req,
-        HttpSession session
+        HttpServletRequest request
 ) {
-    Long sessionUserId = (Long) session.getAttribute("userId");
-    Integer employmentStatus = (Integer) session.getAttribute("employmentStatus");
+    Optional<Session> session = authSessions.current(request);
+    Long sessionUserId = session.map(Session::getUserId).orElse(null);
+    Integer employmentStatus = session.map(Session::getEmploymentStatus).orElse(null);
     if (employmentStatus != null && employmentStatus == 1) {
         if (sessionUserId == null || !sessionUserId.equals(id)) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not allowed");
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not allowed"));
         }
     }
     User u = userRepository.findById(id)
@@ -87,6 +117,7 @@ public class AuthController {
                 HttpStatus.BAD_REQUEST, "Email already exists");
         });
 
+    Long previousTenantID = u.getTenantID();
     u.setEmail(req.email);
     u.setName(req.name);
     u.setCompanyName(req.companyName);
@@ -94,14 +125,28 @@ public class AuthController {
     u.setDeleted(req.IsDeleted);
     u.setTenantID(req.tenantID);
 
-    if (req.password != null && !req.password.isBlank()) {
-        u.setPassword(encoder.encode(req.password));
+    if (req.password == null || req.password.isBlank()) {
+        return CompletableFuture.completedFuture(saveUser(u, previousTenantID, req.tenantID));
     }
+    return passwordHasher.encode(req.password).thenApplyAsync(hash -> {
+        u.setPassword(hash);
+        return saveUser(u, previousTenantID, req.tenantID);
+    }, asyncExecutor);
+}
 
-    userRepository.save(u);
+    private ResponseEntity<?> saveUser(User u, Long previousTenantID, Long tenantID) {
+        userRepository.save(u);
+        // A user moved between tenants leaves one directory and joins the other.
+        userDirectory.invalidate(previousTenantID);
+        userDirectory.invalidate(tenantID);
+        // Document lists show the creator's name.
+        for (Long affected : new Long[] { previousTenantID, tenantID }) {
+            collectionVersions.bump(CollectionVersions.Kind.STOCK_IN, affected);
+            collectionVersions.bump(CollectionVersions.Kind.STOCK_OUT, affected);
+        }
 
-    return ResponseEntity.ok("User updated");
-}
+        return ResponseEntity.ok("User updated");
+    }
 
 
     @PostMapping("/Companyregister") public ResponseEntity<?> Companyregister(@RequestBody CompanyRegisterRequest req) {
@@ -119,70 +164,71 @@ public class AuthController {
         return ResponseEntity.ok(cr.getId());
     }
 
-    @PostMapping("/login") public ResponseEntity<?> login(@RequestBody LoginRequest req, HttpSession session) {
+    @PostMapping("/login") public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginRequest req, HttpServletRequest request) {
         Optional<User> existing = userRepository.findByEmail(req.email);
         if (existing.isEmpty()) {
-            return ResponseEntity.status(401).body("Invalid credentials");
+            return CompletableFuture.completedFuture(ResponseEntity.status(401).body("Invalid credentials"));
         }
 
-        boolean ok = encoder.matches(req.password, existing.get().getPassword());
-        if (!ok) {
-            return ResponseEntity.status(401).body("Invalid credentials");
-        }
+        User user = existing.get();
+        String storedHash = user.getPassword();
+        return passwordHasher.matches(req.password, storedHash).thenApplyAsync(ok -> {
+            if (!ok) {
+                return ResponseEntity.status(401).body("Invalid credentials");
+            }
+            // Hashes made at a lower cost are re-encoded at the configured one.
+            passwordHasher.upgradeIfNeeded(req.password, storedHash,
+                hash -> userRepository.updatePassword(user.getId(), hash), asyncExecutor);
+            return authSessions.start(new Session(
+                user.getId(),
+                user.getEmail(),
+                user.getName(),
+                user.getCompanyName(),
+                user.getTenantID(),
+                user.getEmploymentStatus()
+            ), request);
+        }, asyncExecutor);
+    }
 
-        session.setAttribute("userId", existing.get().getId());
-        session.setAttribute("email", existing.get().getEmail());
-        session.setAttribute("name", existing.get().getName());
-        session.setAttribute("companyName", existing.get().getCompanyName());
-        session.setAttribute("tenantID", existing.get().getTenantID());
-        session.setAttribute("employmentStatus", existing.get().getEmploymentStatus());
-        Session response = new Session(
-            existing.get().getId(),
-            existing.get().getEmail(),
-            existing.get().getName(),
-            existing.get().getCompanyName(),
-            existing.get().getTenantID(),
-            existing.get().getEmploymentStatus()
-        );
-        return ResponseEntity.ok(response);
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<String> handleHashingBusy(PasswordHashingBusyException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body("Too many logins at once, please retry");
     }
 
+    // In token mode this is answered from the token alone.
     @GetMapping("/me")
-    public ResponseEntity<?> me(HttpSession session) {
-        String email = (String) session.getAttribute("email");
-        if (email == null) {
+    public ResponseEntity<?> me(HttpServletRequest request) {
+        Optional<Session> session = authSessions.current(request);
+        if (session.isEmpty()) {
             return ResponseEntity.status(401).body("Not logged in");
         }
 
-        String name = (String) session.getAttribute("name");
-        String companyName = (String) session.getAttribute("companyName");
-        Long tenantID = (Long) session.getAttribute("tenantID");
-        Integer employmentStatus = (Integer) session.getAttribute("employmentStatus");
-
-        Long userId = (Long) session.getAttribute("userId");
+        Session current = session.get();
         Session response = new Session(
-            userId != null ? userId : 0L,
-            email,
-            name,
-            companyName,
-            tenantID != null ? tenantID : 0L,
-            employmentStatus != null ? employmentStatus : 0
+            current.getUserId() != null ? current.getUserId() : 0L,
+            current.getEmail(),
+            current.getName(),
+            current.getCompanyName(),
+            current.getTenantID() != null ? current.getTenantID() : 0L,
+            current.getEmploymentStatus() != null ? current.getEmploymentStatus() : 0
         );
 
         return ResponseEntity.ok(response);
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<?> logout(HttpSession session) {
-        session.invalidate();
-        return ResponseEntity.ok("Logged out");
+    public ResponseEntity<?> logout(HttpServletRequest request) {
+        return authSessions.end(request);
     }
 
     @GetMapping("/employees")
-    public ResponseEntity<?> getEmployeesByTenant(HttpSession session) {
-        Long tenantID = (Long) session.getAttribute("tenantID");
-        Long userId = (Long) session.getAttribute("userId");
-        Integer employmentStatus = (Integer) session.getAttribute("employmentStatus");
+    public ResponseEntity<?> getEmployeesByTenant(HttpServletRequest request) {
+        Optional<Session> session = authSessions.current(request);
+        Long tenantID = session.map(Session::getTenantID).orElse(null);
+        Long userId = session.map(Session::getUserId).orElse(null);
+        Integer employmentStatus = session.map(Session::getEmploymentStatus).orElse(null);
         if (tenantID == null) {
             return ResponseEntity.status(401).body("Not logged in");
         }
@@ -191,12 +237,12 @@ public class AuthController {
             if (userId == null) {
                 return ResponseEntity.status(401).body("Not logged in");
             }
-            return userRepository.findById(userId)
+            return userRepository.findSummaryById(userId)
                 .map(user -> ResponseEntity.ok(List.of(user)))
                 .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).body(List.of()));
         }
 
-        List<User> employees = userRepository.findBytenantID(tenantID);
+        List<UserSummary> employees = userRepository.findSummariesByTenantID(tenantID);
         return ResponseEntity.ok(employees);
     }
 }
@@ -1,15 +1,13 @@
 package com.example.backend.controller;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -21,11 +19,15 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.util.StringUtils;
 
+import com.example.backend.dto.ImageVariant;
 import com.example.backend.entity.Product;
 import com.example.backend.repository.ProductRepository;
+import com.example.backend.service.CatalogSearchIndex;
+import com.example.backend.service.CollectionVersions;
+import com.example.backend.service.ProductImageStore;
 
 @RestController
 @RequestMapping("/api/products")
@@ -34,12 +36,22 @@ public class ProductController {
     @Autowired
     private ProductRepository productRepository;
 
-    private final Path productUploadDir = Paths.get("uploads", "products");
+    @Autowired
+    private ProductImageStore productImageStore;
+
+    @Autowired
+    private CollectionVersions collectionVersions;
+
+    @Autowired
+    private CatalogSearchIndex catalogSearchIndex;
 
     // Get all products by tenant
     @GetMapping("/tenant/{tenantId}")
-    public ResponseEntity<List<Product>> getByTenant(@PathVariable Long tenantId) {
-        return ResponseEntity.ok(productRepository.findBytenantid(tenantId));
+    public ResponseEntity<List<Product>> getByTenant(@PathVariable Long tenantId, WebRequest request) {
+        if (collectionVersions.notModified(CollectionVersions.Kind.PRODUCTS, tenantId, request)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(productRepository.findBytenantid(tenantId));
     }
 
     // Get product by id
@@ -53,7 +65,10 @@ public class ProductController {
     // Create product
     @PostMapping
     public ResponseEntity<Product> create(@RequestBody Product product) {
-        return ResponseEntity.ok(productRepository.save(product));
+        Product saved = productRepository.save(product);
+        collectionVersions.bump(CollectionVersions.Kind.PRODUCTS, saved.getTenantid());
+        catalogSearchIndex.refresh(saved.getTenantid());
+        return ResponseEntity.ok(saved);
     }
 
     // Upload product image
@@ -64,18 +79,13 @@ public class ProductController {
             return ResponseEntity.badRequest().body(Map.of("error", "File is required"));
         }
 
-        try {
-            Files.createDirectories(productUploadDir);
-            String cleaned = StringUtils.cleanPath(file.getOriginalFilename());
-            String extension = "";
-            int dotIndex = cleaned.lastIndexOf('.');
-            if (dotIndex >= 0) {
-                extension = cleaned.substring(dotIndex);
-            }
-            String filename = UUID.randomUUID().toString() + extension;
-            Path target = productUploadDir.resolve(filename);
-            Files.copy(file.getInputStream(), target, StandardCopyOption.REPLACE_EXISTING);
-            return ResponseEntity.ok(Map.of("path", "/uploads/products/" + filename));
+        try (InputStream input = file.getInputStream()) {
+            String path = productImageStore.store(input);
+            Map<String, String> body = new LinkedHashMap<>();
+            body.put("path", path);
+            // Variants render in the background, so usually none is listed yet for a new image.
+            productImageStore.existingVariants(ImageVariant.pathsFor(path)).forEach(body::put);
+            return ResponseEntity.ok(body);
         } catch (IOException ex) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", "Unable to store image"));
@@ -92,14 +102,21 @@ public class ProductController {
             product.setProductName(updated.getProductName());
             product.setDescription(updated.getDescription());
             product.setProductImage(updated.getProductImage());
-            return ResponseEntity.ok(productRepository.save(product));
+            Product saved = productRepository.save(product);
+            collectionVersions.bump(CollectionVersions.Kind.PRODUCTS, saved.getTenantid());
+            catalogSearchIndex.refresh(saved.getTenantid());
+            return ResponseEntity.ok(saved);
         }).orElse(ResponseEntity.notFound().build());
     }
 
     // Delete product
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
-        productRepository.deleteById(id);
+        productRepository.findById(id).ifPresent(product -> {
+            productRepository.delete(product);
+            collectionVersions.bump(CollectionVersions.Kind.PRODUCTS, product.getTenantid());
+            catalogSearchIndex.refresh(product.getTenantid());
+        });
         return ResponseEntity.noContent().build();
     }
 }
@@ -1,8 +1,12 @@
 package com.example.backend.controller;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,12 +15,23 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.backend.dto.ReorderThresholdRequest;
 import com.example.backend.entity.Product;
 import com.example.backend.entity.ProductSku;
 import com.example.backend.repository.ProductRepository;
 import com.example.backend.repository.ProductSkuRepository;
+import com.example.backend.service.CatalogSearchIndex;
+import com.example.backend.service.CollectionVersions;
+import com.example.backend.service.ExportFormat;
+import com.example.backend.service.SkuLookupCache;
+import com.example.backend.service.StockExportService;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 
 @RestController
 @RequestMapping("/api/product-skus")
@@ -28,10 +43,38 @@ public class ProductSkuController {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private SkuLookupCache skuLookupCache;
+
+    @Autowired
+    private StockExportService stockExportService;
+
+    @Autowired
+    private CollectionVersions collectionVersions;
+
+    @Autowired
+    private CatalogSearchIndex catalogSearchIndex;
+
     // Get SKUs by tenant
     @GetMapping("/tenant/{tenantId}")
-    public ResponseEntity<List<ProductSku>> getByTenant(@PathVariable Long tenantId) {
-        return ResponseEntity.ok(productSkuRepository.findByTenantID(tenantId));
+    public ResponseEntity<List<ProductSku>> getByTenant(@PathVariable Long tenantId, WebRequest request) {
+        if (collectionVersions.notModified(CollectionVersions.Kind.PRODUCT_SKUS, tenantId, request)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(productSkuRepository.findByTenantID(tenantId));
+    }
+
+    // Current stock levels of every SKU as a download, streamed from the database
+    @GetMapping("/tenant/{tenantId}/export")
+    public ResponseEntity<StreamingResponseBody> exportLevels(
+            @PathVariable Long tenantId,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        StreamingResponseBody body = out -> stockExportService.writeInventory(tenantId, exportFormat, gzip, out);
+        return ResponseEntity.ok()
+            .headers(StockExportService.headers("inventory-" + tenantId, exportFormat, gzip))
+            .body(body);
     }
 
     // Get SKUs by product
@@ -50,7 +93,11 @@ public class ProductSkuController {
                 .orElseThrow(() -> new RuntimeException("Product not found"));
 
         sku.setProduct(product);
-        return ResponseEntity.ok(productSkuRepository.save(sku));
+        ProductSku saved = productSkuRepository.save(sku);
+        skuLookupCache.invalidate(saved.getTenantID(), saved.getSkuCode());
+        collectionVersions.bump(CollectionVersions.Kind.PRODUCT_SKUS, saved.getTenantID());
+        catalogSearchIndex.refresh(saved.getTenantID());
+        return ResponseEntity.ok(saved);
     }
 
     // Update SKU
@@ -60,19 +107,67 @@ public class ProductSkuController {
             @RequestBody ProductSku updated) {
 
         return productSkuRepository.findById(id).map(sku -> {
+            skuLookupCache.invalidate(sku.getTenantID(), sku.getSkuCode());
             sku.setSkuCode(updated.getSkuCode());
             sku.setColour(updated.getColour());
             sku.setSize(updated.getSize());
             sku.setQuantityAvailable(updated.getQuantityAvailable());
             sku.setImage(updated.getImage());
-            return ResponseEntity.ok(productSkuRepository.save(sku));
+            ProductSku saved = productSkuRepository.save(sku);
+            skuLookupCache.invalidate(saved.getTenantID(), saved.getSkuCode());
+            collectionVersions.bump(CollectionVersions.Kind.PRODUCT_SKUS, saved.getTenantID());
+            catalogSearchIndex.refresh(saved.getTenantID());
+            return ResponseEntity.ok(saved);
         }).orElse(ResponseEntity.notFound().build());
     }
 
+    // Set reorder thresholds for many SKUs in one batch; a null threshold turns alerts off
+    @PutMapping("/tenant/{tenantId}/reorder-thresholds")
+    public ResponseEntity<Map<String, Object>> setReorderThresholds(
+            @PathVariable Long tenantId,
+            @RequestBody List<ReorderThresholdRequest> thresholds) {
+
+        Map<Long, Integer> thresholdsById = new HashMap<>();
+        for (ReorderThresholdRequest threshold : thresholds) {
+            if (threshold.skuId == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "skuId is required");
+            }
+            if (threshold.threshold != null && threshold.threshold < 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Threshold must not be negative");
+            }
+            thresholdsById.put(threshold.skuId, threshold.threshold);
+        }
+
+        List<Long> unknown = productSkuRepository.setReorderThresholds(tenantId, thresholdsById);
+        if (unknown.size() < thresholdsById.size()) {
+            collectionVersions.bump(CollectionVersions.Kind.PRODUCT_SKUS, tenantId);
+        }
+        return ResponseEntity.ok(Map.of(
+            "updated", thresholdsById.size() - unknown.size(),
+            "unknownSkuIds", unknown));
+    }
+
     // Delete SKU
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteSku(@PathVariable Long id) {
-        productSkuRepository.deleteById(id);
+        productSkuRepository.findById(id).ifPresent(sku -> {
+            productSkuRepository.delete(sku);
+            skuLookupCache.invalidate(sku.getTenantID(), sku.getSkuCode());
+            collectionVersions.bump(CollectionVersions.Kind.PRODUCT_SKUS, sku.getTenantID());
+            catalogSearchIndex.refresh(sku.getTenantID());
+        });
         return ResponseEntity.noContent().build();
     }
+
+    // SKU lookup cache counters, for sizing sku-cache.maximum-size
+    @GetMapping("/cache-stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        CacheStats stats = skuLookupCache.stats();
+        return ResponseEntity.ok(Map.of(
+            "size", skuLookupCache.size(),
+            "hitCount", stats.hitCount(),
+            "missCount", stats.missCount(),
+            "hitRate", stats.hitRate(),
+            "evictionCount", stats.evictionCount()));
+    }
 }
@@ -0,0 +1,37 @@
+package com.example.backend.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.backend.dto.SearchHit;
+import com.example.backend.service.CatalogSearchIndex;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 50;
+
+    private final CatalogSearchIndex catalogSearchIndex;
+
+    public SearchController(CatalogSearchIndex catalogSearchIndex) {
+        this.catalogSearchIndex = catalogSearchIndex;
+    }
+
+    // Typeahead over product names and SKU codes, colours and sizes
+    @GetMapping("/tenant/{tenantId}")
+    public ResponseEntity<List<SearchHit>> search(
+            @PathVariable Long tenantId,
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "" + DEFAULT_LIMIT) int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return ResponseEntity.ok(catalogSearchIndex.search(tenantId, q, size));
+    }
+}
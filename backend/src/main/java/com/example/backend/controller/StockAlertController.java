@@ -0,0 +1,56 @@
+package com.example.backend.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.backend.dto.StockAlert;
+import com.example.backend.dto.StockAlertPage;
+import com.example.backend.repository.StockAlertJdbcRepository;
+
+@RestController
+@RequestMapping("/api/alerts")
+public class StockAlertController {
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final StockAlertJdbcRepository stockAlertJdbcRepository;
+
+    public StockAlertController(StockAlertJdbcRepository stockAlertJdbcRepository) {
+        this.stockAlertJdbcRepository = stockAlertJdbcRepository;
+    }
+
+    // Reorder threshold crossings, newest first
+    @GetMapping("/tenant/{tenantId}")
+    public ResponseEntity<StockAlertPage> getAlerts(
+            @PathVariable Long tenantId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+
+        Long after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                after = Long.valueOf(cursor);
+            } catch (NumberFormatException ex) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        List<StockAlert> alerts = stockAlertJdbcRepository.find(tenantId, after, pageSize + 1);
+        String nextCursor = null;
+        if (alerts.size() > pageSize) {
+            alerts = alerts.subList(0, pageSize);
+            nextCursor = String.valueOf(alerts.get(pageSize - 1).getId());
+        }
+        return ResponseEntity.ok(new StockAlertPage(alerts, nextCursor));
+    }
+}
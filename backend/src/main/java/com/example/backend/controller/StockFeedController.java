@@ -0,0 +1,27 @@
+package com.example.backend.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.backend.service.StockLevelFeed;
+
+@RestController
+@RequestMapping("/api/stock-feed")
+public class StockFeedController {
+
+    private final StockLevelFeed stockLevelFeed;
+
+    public StockFeedController(StockLevelFeed stockLevelFeed) {
+        this.stockLevelFeed = stockLevelFeed;
+    }
+
+    // "stock-levels" events after every finalize of the tenant's documents, for an EventSource.
+    @GetMapping(value = "/tenant/{tenantId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@PathVariable Long tenantId) {
+        return stockLevelFeed.subscribe(tenantId);
+    }
+}
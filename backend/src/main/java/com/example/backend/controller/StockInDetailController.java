@@ -1,8 +1,12 @@
 package com.example.backend.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,12 +15,18 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.example.backend.dto.StockImportReport;
 import com.example.backend.entity.StockIn;
 import com.example.backend.entity.StockInDetail;
 import com.example.backend.repository.StockInDetailRepository;
 import com.example.backend.repository.StockInRepository;
+import com.example.backend.service.CollectionVersions;
+import com.example.backend.service.StockInImportService;
 
 @RestController
 @RequestMapping("/api/stock-in-details")
@@ -28,6 +38,12 @@ public class StockInDetailController {
     @Autowired
     private StockInRepository stockInRepository;
 
+    @Autowired
+    private CollectionVersions collectionVersions;
+
+    @Autowired
+    private StockInImportService stockInImportService;
+
     @GetMapping("/stock-in/{stockInId}")
     public ResponseEntity<List<StockInDetail>> getByStockIn(@PathVariable Long stockInId) {
         return ResponseEntity.ok(stockInDetailRepository.findByStockIn_Id(stockInId));
@@ -48,7 +64,24 @@ public class StockInDetailController {
             return ResponseEntity.badRequest().build();
         }
         detail.setStockIn(stockIn);
-        return ResponseEntity.ok(stockInDetailRepository.save(detail));
+        StockInDetail saved = stockInDetailRepository.save(detail);
+        // Line counts and totals are part of the tenant's document list.
+        collectionVersions.bump(CollectionVersions.Kind.STOCK_IN, stockIn.getTenantId());
+        return ResponseEntity.ok(saved);
+    }
+
+    // Bulk alternative to the endpoint above: a "sku,quantity[,productName]" CSV upload.
+    @PostMapping(value = "/stock-in/{stockInId}/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<StockImportReport> importCsv(@PathVariable Long stockInId,
+            @RequestParam("file") MultipartFile file) {
+        try (InputStream input = file.getInputStream()) {
+            StockImportReport report = stockInImportService.importCsv(stockInId, input);
+            stockInRepository.findById(stockInId)
+                .ifPresent(stockIn -> collectionVersions.bump(CollectionVersions.Kind.STOCK_IN, stockIn.getTenantId()));
+            return ResponseEntity.ok(report);
+        } catch (IOException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Could not read the uploaded file");
+        }
     }
 
     @PutMapping("/{id}")
@@ -63,7 +96,11 @@ public class StockInDetailController {
         detail.setProductName(updated.getProductName());
         detail.setSku(updated.getSku());
         detail.setQuantity(updated.getQuantity());
-        return ResponseEntity.ok(stockInDetailRepository.save(detail));
+        StockInDetail saved = stockInDetailRepository.save(detail);
+        if (detail.getStockIn() != null) {
+            collectionVersions.bump(CollectionVersions.Kind.STOCK_IN, detail.getStockIn().getTenantId());
+        }
+        return ResponseEntity.ok(saved);
     }
 
     @DeleteMapping("/{id}")
@@ -84,6 +121,7 @@ public class StockInDetailController {
         }
 
         stockInDetailRepository.delete(detail);
+        collectionVersions.bump(CollectionVersions.Kind.STOCK_IN, stockIn.getTenantId());
         return ResponseEntity.noContent().build();
     }
 }
@@ -1,110 +1,140 @@
 package com.example.backend.controller;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.backend.dto.StockLedgerCursor;
 import com.example.backend.dto.StockLedgerEntry;
-import com.example.backend.entity.StockIn;
-import com.example.backend.entity.StockInDetail;
-import com.example.backend.entity.StockOut;
-import com.example.backend.entity.StockOutDetail;
-import com.example.backend.entity.User;
-import com.example.backend.repository.StockInRepository;
-import com.example.backend.repository.StockOutRepository;
-import com.example.backend.repository.UserRepository;
+import com.example.backend.dto.StockLedgerFilter;
+import com.example.backend.dto.StockLedgerPage;
+import com.example.backend.repository.StockLedgerJdbcRepository;
+import com.example.backend.repository.StockLedgerJdbcRepository.LedgerRow;
+import com.example.backend.service.ExportFormat;
+import com.example.backend.service.StockExportService;
 
 @RestController
 @RequestMapping("/api/stock-ledger")
 public class StockLedgerController {
 
-    private final StockInRepository stockInRepository;
-    private final StockOutRepository stockOutRepository;
-    private final UserRepository userRepository;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    // Most entries the unpaged list returns; it is kept for existing clients only.
+    private static final int LIST_LIMIT = 1000;
+
+    private final StockLedgerJdbcRepository stockLedgerJdbcRepository;
+    private final StockExportService stockExportService;
 
     public StockLedgerController(
-        StockInRepository stockInRepository,
-        StockOutRepository stockOutRepository,
-        UserRepository userRepository
+        StockLedgerJdbcRepository stockLedgerJdbcRepository,
+        StockExportService stockExportService
     ) {
-        this.stockInRepository = stockInRepository;
-        this.stockOutRepository = stockOutRepository;
-        this.userRepository = userRepository;
+        this.stockLedgerJdbcRepository = stockLedgerJdbcRepository;
+        this.stockExportService = stockExportService;
     }
 
+    // Deprecated in favour of /page: the newest LIST_LIMIT entries, read through the same keyset
+    // query. When more exist, the Link header points at the page that continues after them.
+    @Deprecated
     @GetMapping("/tenant/{tenantId}")
     public ResponseEntity<List<StockLedgerEntry>> getLedgerByTenant(@PathVariable Long tenantId) {
-        List<StockIn> stockIns = stockInRepository.findBytenantId(tenantId);
-        List<StockOut> stockOuts = stockOutRepository.findBytenantId(tenantId);
-
-        Set<Long> userIds = new HashSet<>();
-        for (StockIn stockIn : stockIns) {
-            if (stockIn.getCreatedBy() != null) {
-                userIds.add(stockIn.getCreatedBy());
-            }
+        List<LedgerRow> rows = stockLedgerJdbcRepository.find(tenantId, new StockLedgerFilter(), null, LIST_LIMIT + 1);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().header("Deprecation", "true");
+        if (rows.size() > LIST_LIMIT) {
+            rows = rows.subList(0, LIST_LIMIT);
+            response.header(HttpHeaders.LINK, "</api/stock-ledger/tenant/" + tenantId + "/page?cursor="
+                + rows.get(LIST_LIMIT - 1).toCursor().encode() + ">; rel=\"next\"");
         }
-        for (StockOut stockOut : stockOuts) {
-            if (stockOut.getCreatedBy() != null) {
-                userIds.add(stockOut.getCreatedBy());
-            }
+        List<StockLedgerEntry> entries = new ArrayList<>(rows.size());
+        for (LedgerRow row : rows) {
+            entries.add(row.getEntry());
         }
+        return response.body(entries);
+    }
+
+    @GetMapping("/tenant/{tenantId}/page")
+    public ResponseEntity<StockLedgerPage> getLedgerPage(
+            @PathVariable Long tenantId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String sku,
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Long createdBy,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
 
-        Map<Long, String> userNames = new HashMap<>();
-        if (!userIds.isEmpty()) {
-            for (User user : userRepository.findAllById(userIds)) {
-                userNames.put(user.getId(), user.getName());
+        StockLedgerFilter filter = filter(from, to, sku, productId, type, createdBy);
+        StockLedgerCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                after = StockLedgerCursor.decode(cursor);
+            } catch (IllegalArgumentException ex) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
             }
         }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
 
-        List<StockLedgerEntry> entries = new ArrayList<>();
-        for (StockIn stockIn : stockIns) {
-            String createdByName = userNames.get(stockIn.getCreatedBy());
-            for (StockInDetail detail : stockIn.getDetails()) {
-                entries.add(new StockLedgerEntry(
-                    "IN",
-                    stockIn.getId(),
-                    stockIn.getRunningNumber(),
-                    stockIn.getDate(),
-                    detail.getProductName(),
-                    detail.getSku(),
-                    detail.getQuantity(),
-                    stockIn.getCreatedBy(),
-                    createdByName
-                ));
-            }
+        // One extra row tells us whether another page exists without a count query.
+        List<LedgerRow> rows = stockLedgerJdbcRepository.find(tenantId, filter, after, pageSize + 1);
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            nextCursor = rows.get(pageSize - 1).toCursor().encode();
         }
 
-        for (StockOut stockOut : stockOuts) {
-            String createdByName = userNames.get(stockOut.getCreatedBy());
-            for (StockOutDetail detail : stockOut.getDetails()) {
-                entries.add(new StockLedgerEntry(
-                    "OUT",
-                    stockOut.getId(),
-                    stockOut.getRunningNumber(),
-                    stockOut.getDate(),
-                    detail.getProductName(),
-                    detail.getSku(),
-                    detail.getQuantity(),
-                    stockOut.getCreatedBy(),
-                    createdByName
-                ));
-            }
+        List<StockLedgerEntry> entries = new ArrayList<>(rows.size());
+        for (LedgerRow row : rows) {
+            entries.add(row.getEntry());
         }
+        return ResponseEntity.ok(new StockLedgerPage(entries, nextCursor));
+    }
 
-        entries.sort(Comparator
-            .comparing(StockLedgerEntry::getDate, Comparator.nullsLast(Comparator.naturalOrder()))
-            .reversed());
+    // Full ledger as a download, written while it is read from the database.
+    @GetMapping("/tenant/{tenantId}/export")
+    public ResponseEntity<StreamingResponseBody> exportLedger(
+            @PathVariable Long tenantId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String sku,
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Long createdBy,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
 
-        return ResponseEntity.ok(entries);
+        StockLedgerFilter filter = filter(from, to, sku, productId, type, createdBy);
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        StreamingResponseBody body = out -> stockExportService.writeLedger(tenantId, filter, exportFormat, gzip, out);
+        return ResponseEntity.ok()
+            .headers(StockExportService.headers("ledger-" + tenantId, exportFormat, gzip))
+            .body(body);
+    }
+
+    private static StockLedgerFilter filter(LocalDateTime from, LocalDateTime to, String sku, Long productId,
+            String type, Long createdBy) {
+        if (type != null && !type.equals("IN") && !type.equals("OUT")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Type must be IN or OUT");
+        }
+        StockLedgerFilter filter = new StockLedgerFilter();
+        filter.from = from;
+        filter.to = to;
+        filter.sku = sku;
+        filter.productId = productId;
+        filter.type = type;
+        filter.createdBy = createdBy;
+        return filter;
     }
 }
@@ -1,12 +1,16 @@
 package com.example.backend.controller;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -14,14 +18,17 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.example.backend.dto.StockDocumentSummary;
 import com.example.backend.dto.StockOutRequest;
-import com.example.backend.entity.ProductSku;
 import com.example.backend.entity.StockOut;
-import com.example.backend.entity.StockOutDetail;
-import com.example.backend.repository.ProductSkuRepository;
-import com.example.backend.repository.StockOutDetailRepository;
 import com.example.backend.repository.StockOutRepository;
+import com.example.backend.service.CollectionVersions;
+import com.example.backend.service.RunningNumberAllocator;
+import com.example.backend.service.StockFinalizeException;
+import com.example.backend.service.StockFinalizeService;
+import com.example.backend.service.UserDirectory;
 
 @RestController
 @RequestMapping("/api/stock-out")
@@ -31,19 +38,33 @@ public class StockOutController {
     private StockOutRepository stockOutRepository;
 
     @Autowired
-    private StockOutDetailRepository stockOutDetailRepository;
+    private StockFinalizeService stockFinalizeService;
 
     @Autowired
-    private ProductSkuRepository productSkuRepository;
+    private RunningNumberAllocator runningNumberAllocator;
+
+    @Autowired
+    private UserDirectory userDirectory;
+
+    @Autowired
+    private CollectionVersions collectionVersions;
 
     @GetMapping("/tenant/{tenantId}")
-    public ResponseEntity<List<StockOut>> getByTenant(@PathVariable Long tenantId) {
-        return ResponseEntity.ok(stockOutRepository.findBytenantId(tenantId));
+    public ResponseEntity<List<StockDocumentSummary>> getByTenant(@PathVariable Long tenantId, WebRequest request) {
+        if (collectionVersions.notModified(CollectionVersions.Kind.STOCK_OUT, tenantId, request)) {
+            return null;
+        }
+        List<StockDocumentSummary> summaries = stockOutRepository.findSummariesByTenantId(tenantId);
+        List<StockDocumentSummary> named = new ArrayList<>(summaries.size());
+        for (StockDocumentSummary summary : summaries) {
+            named.add(summary.withCreatedByName(userDirectory.name(tenantId, summary.getCreatedBy())));
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(named);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<StockOut> getById(@PathVariable Long id) {
-        return stockOutRepository.findById(id)
+        return stockOutRepository.findWithDetailsById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -58,10 +79,11 @@ public class StockOutController {
         stockOut.setDate(request.date != null ? request.date : LocalDateTime.now());
         stockOut.setCreatedBy(request.createdBy);
         stockOut.setTenantId(request.tenantId);
-        stockOut.setRunningNumber(nextRunningNumber(request.tenantId));
+        stockOut.setRunningNumber(runningNumberAllocator.next(RunningNumberAllocator.STOCK_OUT, request.tenantId));
         stockOut.setFinalized(false);
 
         StockOut saved = stockOutRepository.save(stockOut);
+        collectionVersions.bump(CollectionVersions.Kind.STOCK_OUT, saved.getTenantId());
         return ResponseEntity.ok(saved);
     }
 
@@ -75,6 +97,7 @@ public class StockOutController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
         stockOutRepository.deleteById(id);
+        collectionVersions.bump(CollectionVersions.Kind.STOCK_OUT, existing.getTenantId());
         return ResponseEntity.noContent().build();
     }
 
@@ -90,61 +113,29 @@ public class StockOutController {
         existing.setDescription(request.description);
         existing.setDate(request.date != null ? request.date : existing.getDate());
         existing.setCreatedBy(request.createdBy != null ? request.createdBy : existing.getCreatedBy());
-        return ResponseEntity.ok(stockOutRepository.save(existing));
+        StockOut saved = stockOutRepository.save(existing);
+        collectionVersions.bump(CollectionVersions.Kind.STOCK_OUT, saved.getTenantId());
+        return ResponseEntity.ok(saved);
     }
 
     @PostMapping("/{id}/finalize")
     public ResponseEntity<StockOut> finalizeStockOut(@PathVariable Long id) {
-        StockOut existing = stockOutRepository.findById(id).orElse(null);
-        if (existing == null) {
-            return ResponseEntity.notFound().build();
-        }
-        if (existing.isFinalized()) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-        }
-
-        List<StockOutDetail> details = stockOutDetailRepository.findByStockOut_Id(id);
-        for (StockOutDetail detail : details) {
-            String skuCode = detail.getSku();
-            if (skuCode == null || skuCode.isEmpty()) {
-                continue;
-            }
-            ProductSku sku = productSkuRepository.findFirstBySkuCodeAndTenantID(skuCode, existing.getTenantId());
-            if (sku == null) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-            }
-            int available = sku.getQuantityAvailable();
-            if (available < detail.getQuantity()) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-            }
-            sku.setQuantityAvailable(available - detail.getQuantity());
-            productSkuRepository.save(sku);
-        }
-
-        existing.setFinalized(true);
-        return ResponseEntity.ok(stockOutRepository.save(existing));
+        StockOut finalized = stockFinalizeService.finalizeStockOut(id);
+        // Finalizing also moves quantityAvailable on the tenant's SKUs.
+        collectionVersions.bump(CollectionVersions.Kind.STOCK_OUT, finalized.getTenantId());
+        collectionVersions.bump(CollectionVersions.Kind.PRODUCT_SKUS, finalized.getTenantId());
+        return ResponseEntity.ok(finalized);
     }
 
-    private String nextRunningNumber(Long tenantId) {
-        StockOut last = stockOutRepository.findFirstBytenantIdOrderByIdDesc(tenantId);
-        if (last == null || last.getRunningNumber() == null || last.getRunningNumber().isEmpty()) {
-            return "SO001";
-        }
-
-        String raw = last.getRunningNumber().replaceAll("[^0-9]", "");
-        int next = 1;
-        if (!raw.isEmpty()) {
-            try {
-                next = Integer.parseInt(raw) + 1;
-            } catch (NumberFormatException ex) {
-                next = 1;
-            }
-        }
-        return String.format("SO%03d", next);
+    @ExceptionHandler(StockFinalizeException.class)
+    public ResponseEntity<Map<String, Object>> handleFinalizeFailure(StockFinalizeException ex) {
+        return ResponseEntity.badRequest().body(Map.of(
+            "error", ex.getMessage(),
+            "shortages", ex.getShortages()));
     }
 
     @GetMapping("/next-number/tenant/{tenantId}")
     public ResponseEntity<String> getNextRunningNumber(@PathVariable Long tenantId) {
-        return ResponseEntity.ok(nextRunningNumber(tenantId));
+        return ResponseEntity.ok(runningNumberAllocator.peek(RunningNumberAllocator.STOCK_OUT, tenantId));
     }
 }
@@ -17,6 +17,7 @@ import com.example.backend.entity.StockOut;
 import com.example.backend.entity.StockOutDetail;
 import com.example.backend.repository.StockOutDetailRepository;
 import com.example.backend.repository.StockOutRepository;
+import com.example.backend.service.CollectionVersions;
 
 @RestController
 @RequestMapping("/api/stock-out-details")
@@ -28,6 +29,9 @@ public class StockOutDetailController {
     @Autowired
     private StockOutRepository stockOutRepository;
 
+    @Autowired
+    private CollectionVersions collectionVersions;
+
     @GetMapping("/stock-out/{stockOutId}")
     public ResponseEntity<List<StockOutDetail>> getByStockOut(@PathVariable Long stockOutId) {
         return ResponseEntity.ok(stockOutDetailRepository.findByStockOut_Id(stockOutId));
@@ -48,7 +52,10 @@ public class StockOutDetailController {
             return ResponseEntity.badRequest().build();
         }
         detail.setStockOut(stockOut);
-        return ResponseEntity.ok(stockOutDetailRepository.save(detail));
+        StockOutDetail saved = stockOutDetailRepository.save(detail);
+        // Line counts and totals are part of the tenant's document list.
+        collectionVersions.bump(CollectionVersions.Kind.STOCK_OUT, stockOut.getTenantId());
+        return ResponseEntity.ok(saved);
     }
 
     @PutMapping("/{id}")
@@ -63,7 +70,11 @@ public class StockOutDetailController {
         detail.setProductName(updated.getProductName());
         detail.setSku(updated.getSku());
         detail.setQuantity(updated.getQuantity());
-        return ResponseEntity.ok(stockOutDetailRepository.save(detail));
+        StockOutDetail saved = stockOutDetailRepository.save(detail);
+        if (detail.getStockOut() != null) {
+            collectionVersions.bump(CollectionVersions.Kind.STOCK_OUT, detail.getStockOut().getTenantId());
+        }
+        return ResponseEntity.ok(saved);
     }
 
     @DeleteMapping("/{id}")
@@ -84,6 +95,7 @@ public class StockOutDetailController {
         }
 
         stockOutDetailRepository.delete(detail);
+        collectionVersions.bump(CollectionVersions.Kind.STOCK_OUT, stockOut.getTenantId());
         return ResponseEntity.noContent().build();
     }
 }
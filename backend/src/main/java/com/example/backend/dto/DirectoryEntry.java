@@ -0,0 +1,26 @@
+package com.example.backend.dto;
+
+// What other views need to show about a user: the display name and employment status.
+public class DirectoryEntry {
+    private final Long id;
+    private final String name;
+    private final int employmentStatus;
+
+    public DirectoryEntry(Long id, String name, int employmentStatus) {
+        this.id = id;
+        this.name = name;
+        this.employmentStatus = employmentStatus;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getEmploymentStatus() {
+        return employmentStatus;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.backend.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Resized JPEG copies generated for every content-addressed product image, stored next to
+// the original as <hash>-<name>.jpg. The size is the longest edge in pixels.
+public enum ImageVariant {
+    THUMB("thumb", 96),
+    LIST("list", 320),
+    DETAIL("detail", 1024);
+
+    private static final Pattern CONTENT_ADDRESSED =
+        Pattern.compile("^(/uploads/products/)([0-9a-f]{64})\\.([a-z0-9]+)$");
+
+    private final String name;
+    private final int size;
+
+    ImageVariant(String name, int size) {
+        this.name = name;
+        this.size = size;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public String filename(String hash) {
+        return hash + "-" + name + ".jpg";
+    }
+
+    // The JDK cannot decode WebP, so such originals are served as uploaded.
+    public static boolean rendersFrom(String extension) {
+        return !"webp".equals(extension);
+    }
+
+    // Variant paths for an uploaded original, keyed by variant name; empty for paths that
+    // were not stored by hash (older uploads and external URLs) and for originals that never
+    // get variants.
+    public static Map<String, String> pathsFor(String originalPath) {
+        Map<String, String> paths = new LinkedHashMap<>();
+        if (originalPath == null) {
+            return paths;
+        }
+        Matcher matcher = CONTENT_ADDRESSED.matcher(originalPath);
+        if (matcher.matches() && rendersFrom(matcher.group(3))) {
+            for (ImageVariant variant : values()) {
+                paths.put(variant.name, matcher.group(1) + variant.filename(matcher.group(2)));
+            }
+        }
+        return paths;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.backend.dto;
+
+// One SKU's current stock level as written by the inventory export.
+public class InventoryLevel {
+    private final Long skuId;
+    private final String skuCode;
+    private final Long productId;
+    private final String productName;
+    private final String colour;
+    private final String size;
+    private final int quantityAvailable;
+
+    public InventoryLevel(Long skuId, String skuCode, Long productId, String productName, String colour,
+            String size, int quantityAvailable) {
+        this.skuId = skuId;
+        this.skuCode = skuCode;
+        this.productId = productId;
+        this.productName = productName;
+        this.colour = colour;
+        this.size = size;
+        this.quantityAvailable = quantityAvailable;
+    }
+
+    public Long getSkuId() {
+        return skuId;
+    }
+
+    public String getSkuCode() {
+        return skuCode;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public String getColour() {
+        return colour;
+    }
+
+    public String getSize() {
+        return size;
+    }
+
+    public int getQuantityAvailable() {
+        return quantityAvailable;
+    }
+}
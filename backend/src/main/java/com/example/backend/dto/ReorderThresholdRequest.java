@@ -0,0 +1,7 @@
+package com.example.backend.dto;
+
+// One entry of a bulk threshold update; a null threshold stops watching the SKU.
+public class ReorderThresholdRequest {
+    public Long skuId;
+    public Integer threshold;
+}
@@ -0,0 +1,44 @@
+package com.example.backend.dto;
+
+// One typeahead result: a SKU with its product, or a product that has no SKUs yet.
+public class SearchHit {
+    private final Long productId;
+    private final String productName;
+    private final Long skuId;
+    private final String skuCode;
+    private final String colour;
+    private final String size;
+
+    public SearchHit(Long productId, String productName, Long skuId, String skuCode, String colour, String size) {
+        this.productId = productId;
+        this.productName = productName;
+        this.skuId = skuId;
+        this.skuCode = skuCode;
+        this.colour = colour;
+        this.size = size;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public Long getSkuId() {
+        return skuId;
+    }
+
+    public String getSkuCode() {
+        return skuCode;
+    }
+
+    public String getColour() {
+        return colour;
+    }
+
+    public String getSize() {
+        return size;
+    }
+}
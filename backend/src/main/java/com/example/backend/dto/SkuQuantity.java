@@ -0,0 +1,7 @@
+package com.example.backend.dto;
+
+// Total quantity of one SKU code across the lines of a document.
+public interface SkuQuantity {
+    String getSku();
+    Long getQuantity();
+}
@@ -0,0 +1,50 @@
+package com.example.backend.dto;
+
+// The static attributes of a SKU; deliberately carries no quantity.
+public class SkuRef {
+    private final Long id;
+    private final Long tenantId;
+    private final String skuCode;
+    private final Long productId;
+    private final String colour;
+    private final String size;
+    private final String image;
+
+    public SkuRef(Long id, Long tenantId, String skuCode, Long productId, String colour, String size, String image) {
+        this.id = id;
+        this.tenantId = tenantId;
+        this.skuCode = skuCode;
+        this.productId = productId;
+        this.colour = colour;
+        this.size = size;
+        this.image = image;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getTenantId() {
+        return tenantId;
+    }
+
+    public String getSkuCode() {
+        return skuCode;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public String getColour() {
+        return colour;
+    }
+
+    public String getSize() {
+        return size;
+    }
+
+    public String getImage() {
+        return image;
+    }
+}
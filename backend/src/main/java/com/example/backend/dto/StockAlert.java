@@ -0,0 +1,66 @@
+package com.example.backend.dto;
+
+import java.time.LocalDateTime;
+
+// A SKU that fell below its reorder point, and the stock-out that took it there.
+public class StockAlert {
+    private final Long id;
+    private final Long skuId;
+    private final String skuCode;
+    private final int reorderThreshold;
+    private final int quantityBefore;
+    private final int quantityAfter;
+    private final Long recordId;
+    private final String runningNumber;
+    private final LocalDateTime createdAt;
+
+    public StockAlert(Long id, Long skuId, String skuCode, int reorderThreshold, int quantityBefore,
+            int quantityAfter, Long recordId, String runningNumber, LocalDateTime createdAt) {
+        this.id = id;
+        this.skuId = skuId;
+        this.skuCode = skuCode;
+        this.reorderThreshold = reorderThreshold;
+        this.quantityBefore = quantityBefore;
+        this.quantityAfter = quantityAfter;
+        this.recordId = recordId;
+        this.runningNumber = runningNumber;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getSkuId() {
+        return skuId;
+    }
+
+    public String getSkuCode() {
+        return skuCode;
+    }
+
+    public int getReorderThreshold() {
+        return reorderThreshold;
+    }
+
+    public int getQuantityBefore() {
+        return quantityBefore;
+    }
+
+    public int getQuantityAfter() {
+        return quantityAfter;
+    }
+
+    // The stock-out document.
+    public Long getRecordId() {
+        return recordId;
+    }
+
+    public String getRunningNumber() {
+        return runningNumber;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+public class StockAlertPage {
+    private final List<StockAlert> alerts;
+    private final String nextCursor;
+
+    public StockAlertPage(List<StockAlert> alerts, String nextCursor) {
+        this.alerts = alerts;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<StockAlert> getAlerts() {
+        return alerts;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.backend.dto;
+
+import java.time.LocalDateTime;
+
+// Header row for stock-in/stock-out lists; line count and total quantity are computed in SQL,
+// the creator's name comes from UserDirectory.
+public class StockDocumentSummary {
+    private final Long id;
+    private final String runningNumber;
+    private final String description;
+    private final LocalDateTime date;
+    private final Long createdBy;
+    private final Long tenantId;
+    private final boolean finalized;
+    private final long lineCount;
+    private final long totalQuantity;
+    private final String createdByName;
+
+    public StockDocumentSummary(
+        Long id,
+        String runningNumber,
+        String description,
+        LocalDateTime date,
+        Long createdBy,
+        Long tenantId,
+        boolean finalized,
+        long lineCount,
+        long totalQuantity
+    ) {
+        this(id, runningNumber, description, date, createdBy, tenantId, finalized, lineCount, totalQuantity, null);
+    }
+
+    public StockDocumentSummary(
+        Long id,
+        String runningNumber,
+        String description,
+        LocalDateTime date,
+        Long createdBy,
+        Long tenantId,
+        boolean finalized,
+        long lineCount,
+        long totalQuantity,
+        String createdByName
+    ) {
+        this.id = id;
+        this.runningNumber = runningNumber;
+        this.description = description;
+        this.date = date;
+        this.createdBy = createdBy;
+        this.tenantId = tenantId;
+        this.finalized = finalized;
+        this.lineCount = lineCount;
+        this.totalQuantity = totalQuantity;
+        this.createdByName = createdByName;
+    }
+
+    public StockDocumentSummary withCreatedByName(String name) {
+        return new StockDocumentSummary(id, runningNumber, description, date, createdBy, tenantId, finalized,
+            lineCount, totalQuantity, name);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getRunningNumber() {
+        return runningNumber;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public Long getCreatedBy() {
+        return createdBy;
+    }
+
+    public Long getTenantId() {
+        return tenantId;
+    }
+
+    public boolean isFinalized() {
+        return finalized;
+    }
+
+    public long getLineCount() {
+        return lineCount;
+    }
+
+    public long getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    public String getCreatedByName() {
+        return createdByName;
+    }
+}
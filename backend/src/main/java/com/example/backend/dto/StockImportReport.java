@@ -0,0 +1,34 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+public class StockImportReport {
+    private final long imported;
+    private final long rejected;
+    private final List<StockImportRowError> errors;
+    private final boolean errorsTruncated;
+
+    public StockImportReport(long imported, long rejected, List<StockImportRowError> errors, boolean errorsTruncated) {
+        this.imported = imported;
+        this.rejected = rejected;
+        this.errors = errors;
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public List<StockImportRowError> getErrors() {
+        return errors;
+    }
+
+    // True when more rows were rejected than are listed in errors.
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+}
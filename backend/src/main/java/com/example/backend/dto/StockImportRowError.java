@@ -0,0 +1,26 @@
+package com.example.backend.dto;
+
+public class StockImportRowError {
+    private final long line;
+    private final String sku;
+    private final String message;
+
+    public StockImportRowError(long line, String sku, String message) {
+        this.line = line;
+        this.sku = sku;
+        this.message = message;
+    }
+
+    // 1-based line number in the uploaded file, header included.
+    public long getLine() {
+        return line;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.backend.dto;
+
+import java.time.LocalDateTime;
+
+public class StockLedgerFilter {
+    public LocalDateTime from;
+    public LocalDateTime to;
+    public String sku;
+    public Long productId;
+    public String type;
+    public Long createdBy;
+}
@@ -0,0 +1,21 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+public class StockLedgerPage {
+    private final List<StockLedgerEntry> entries;
+    private final String nextCursor;
+
+    public StockLedgerPage(List<StockLedgerEntry> entries, String nextCursor) {
+        this.entries = entries;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<StockLedgerEntry> getEntries() {
+        return entries;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.backend.dto;
+
+// Quantity on hand of one SKU right after a finalize. The version grows with every finalize
+// of the SKU, so a client can drop a level that arrives after a newer one.
+public class StockLevel {
+    private final Long skuId;
+    private final int quantityAvailable;
+    private final long version;
+
+    public StockLevel(Long skuId, int quantityAvailable, long version) {
+        this.skuId = skuId;
+        this.quantityAvailable = quantityAvailable;
+        this.version = version;
+    }
+
+    public Long getSkuId() {
+        return skuId;
+    }
+
+    public int getQuantityAvailable() {
+        return quantityAvailable;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
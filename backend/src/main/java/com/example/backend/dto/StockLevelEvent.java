@@ -0,0 +1,45 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+// Published by a finalize and pushed to the tenant's stock feed once the transaction commits.
+public class StockLevelEvent {
+    private final Long tenantId;
+    private final String type;
+    private final Long documentId;
+    private final String runningNumber;
+    private final List<StockLevel> levels;
+
+    public StockLevelEvent(Long tenantId, String type, Long documentId, String runningNumber, List<StockLevel> levels) {
+        this.tenantId = tenantId;
+        this.type = type;
+        this.documentId = documentId;
+        this.runningNumber = runningNumber;
+        this.levels = levels;
+    }
+
+    // Subscribers already know their tenant.
+    @JsonIgnore
+    public Long getTenantId() {
+        return tenantId;
+    }
+
+    // IN or OUT, as in the ledger.
+    public String getType() {
+        return type;
+    }
+
+    public Long getDocumentId() {
+        return documentId;
+    }
+
+    public String getRunningNumber() {
+        return runningNumber;
+    }
+
+    public List<StockLevel> getLevels() {
+        return levels;
+    }
+}
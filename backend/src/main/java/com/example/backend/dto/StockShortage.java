@@ -0,0 +1,26 @@
+package com.example.backend.dto;
+
+public class StockShortage {
+    private final String sku;
+    private final long requested;
+    private final Integer available;
+
+    public StockShortage(String sku, long requested, Integer available) {
+        this.sku = sku;
+        this.requested = requested;
+        this.available = available;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public long getRequested() {
+        return requested;
+    }
+
+    // Null when the SKU code does not exist for the tenant.
+    public Integer getAvailable() {
+        return available;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// User as listed to other users: every column except the password hash.
+public class UserSummary {
+    private final Long id;
+    private final String email;
+    private final String name;
+    private final String companyName;
+    private final int employmentStatus;
+    private final boolean deleted;
+    private final Long tenantID;
+
+    public UserSummary(Long id, String email, String name, String companyName, int employmentStatus,
+            boolean deleted, Long tenantID) {
+        this.id = id;
+        this.email = email;
+        this.name = name;
+        this.companyName = companyName;
+        this.employmentStatus = employmentStatus;
+        this.deleted = deleted;
+        this.tenantID = tenantID;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCompanyName() {
+        return companyName;
+    }
+
+    public int getEmploymentStatus() {
+        return employmentStatus;
+    }
+
+    @JsonProperty("isDeleted")
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    @JsonProperty("tenantID")
+    public Long getTenantID() {
+        return tenantID;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+// Next running number not yet handed out to any node, per tenant and document prefix.
+@Entity
+@Table(name = "document_counters", uniqueConstraints = @UniqueConstraint(columnNames = { "tenant_id", "doc_type" }))
+public class DocumentCounter {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long tenantId;
+
+    @Column(nullable = false, length = 8)
+    private String docType;
+
+    @Column(nullable = false)
+    private long nextValue;
+
+    // Digits each number is zero-padded to.
+    @Column(nullable = false)
+    private int width;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getTenantId() { return tenantId; }
+    public void setTenantId(Long tenantId) { this.tenantId = tenantId; }
+
+    public String getDocType() { return docType; }
+    public void setDocType(String docType) { this.docType = docType; }
+
+    public long getNextValue() { return nextValue; }
+    public void setNextValue(long nextValue) { this.nextValue = nextValue; }
+
+    public int getWidth() { return width; }
+    public void setWidth(int width) { this.width = width; }
+}
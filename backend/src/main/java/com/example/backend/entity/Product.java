@@ -1,5 +1,16 @@
 package com.example.backend.entity;
 
+import java.util.Map;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.example.backend.config.CatalogCacheConfig;
+import com.example.backend.config.ImageVariantsSerializer;
+import com.example.backend.dto.ImageVariant;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -9,6 +20,7 @@ import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "products")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CatalogCacheConfig.PRODUCT_REGION)
 public class Product {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -46,4 +58,12 @@ public class Product {
 
     public String getProductImage() { return productImage; }
     public void setProductImage(String productImage) { this.productImage = productImage; }
+
+    // Resized copies of the image by variant name (thumb, list, detail).
+    // Only variants already written are listed; see ImageVariantsSerializer.
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @JsonSerialize(using = ImageVariantsSerializer.class)
+    public Map<String, String> getProductImageVariants() {
+        return ImageVariant.pathsFor(productImage);
+    }
 }
@@ -1,9 +1,19 @@
 package com.example.backend.entity;
 
+import java.util.Map;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.example.backend.config.CatalogCacheConfig;
+import com.example.backend.config.ImageVariantsSerializer;
+import com.example.backend.dto.ImageVariant;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -13,6 +23,8 @@ import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "product_skus")
+// quantityAvailable is changed by JDBC at finalize; ProductSkuRepositoryImpl evicts those rows.
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CatalogCacheConfig.PRODUCT_SKU_REGION)
 public class ProductSku {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -30,13 +42,22 @@ public class ProductSku {
     @Column(nullable = false)
     private int quantityAvailable;
 
+    // Bumped by the finalize quantity UPDATE only; orders the levels pushed by StockLevelFeed.
+    @JsonIgnore
+    @Column(name = "level_version", insertable = false, updatable = false)
+    private long levelVersion;
+
+    // Null when no low-stock alert is wanted; set in bulk through ProductSkuController.
+    @Column(nullable = true)
+    private Integer reorderThreshold;
+
     @Column(nullable = true, length = 2000)
     private String image;
 
     @Column(nullable = false)
     private Long tenantID;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id", nullable = false)
     @JsonIgnore
     private Product product;
@@ -56,6 +77,11 @@ public class ProductSku {
     public int getQuantityAvailable() { return quantityAvailable; }
     public void setQuantityAvailable(int quantityAvailable) { this.quantityAvailable = quantityAvailable; }
 
+    public long getLevelVersion() { return levelVersion; }
+
+    public Integer getReorderThreshold() { return reorderThreshold; }
+    public void setReorderThreshold(Integer reorderThreshold) { this.reorderThreshold = reorderThreshold; }
+
     public String getImage() { return image; }
     public void setImage(String image) { this.image = image; }
 
@@ -69,4 +95,12 @@ public class ProductSku {
     public Long getProductId() {
         return product != null ? product.getId() : null;
     }
+
+    // Resized copies of the image by variant name (thumb, list, detail).
+    // Only variants already written are listed; see ImageVariantsSerializer.
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @JsonSerialize(using = ImageVariantsSerializer.class)
+    public Map<String, String> getImageVariants() {
+        return ImageVariant.pathsFor(image);
+    }
 }
@@ -41,7 +41,7 @@ public class StockIn {
     @Column(nullable = false)
     private boolean finalized = false;
 
-    @OneToMany(mappedBy = "stockIn", fetch = FetchType.EAGER, cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "stockIn", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonManagedReference
     private List<StockInDetail> details = new ArrayList<>();
 
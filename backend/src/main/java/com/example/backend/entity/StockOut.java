@@ -41,7 +41,7 @@ public class StockOut {
     @Column(nullable = false)
     private boolean finalized = false;
 
-    @OneToMany(mappedBy = "stockOut", fetch = FetchType.EAGER, cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "stockOut", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonManagedReference
     private List<StockOutDetail> details = new ArrayList<>();
 
@@ -0,0 +1,20 @@
+package com.example.backend.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.backend.entity.DocumentCounter;
+
+public interface DocumentCounterRepository extends JpaRepository<DocumentCounter, Long> {
+
+    Optional<DocumentCounter> findByTenantIdAndDocType(Long tenantId, String docType);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update DocumentCounter c set c.nextValue = c.nextValue + :count"
+        + " where c.tenantId = :tenantId and c.docType = :docType")
+    int reserve(@Param("tenantId") Long tenantId, @Param("docType") String docType, @Param("count") long count);
+}
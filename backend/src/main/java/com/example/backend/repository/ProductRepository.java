@@ -1,11 +1,41 @@
 package com.example.backend.repository;
 import java.util.List;
 
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.example.backend.config.CatalogCacheConfig;
+import com.example.backend.dto.SearchHit;
 import com.example.backend.entity.Product;
 
+import jakarta.persistence.QueryHint;
+
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CatalogCacheConfig.TENANT_QUERY_REGION)
+    })
     List<Product> findBytenantid(Long tenantid);
-}
\ No newline at end of file
+
+    // Every SKU of the tenant with its product, plus one row per product without SKUs, up to
+    // the page size.
+    @Query("select new com.example.backend.dto.SearchHit(p.id, p.productName, s.id, s.skuCode, s.colour, s.size)"
+        + " from Product p left join ProductSku s on s.product = p where p.tenantid = :tenantid")
+    List<SearchHit> findSearchHitsBytenantid(@Param("tenantid") Long tenantid, Pageable pageable);
+
+    // Typeahead for tenants too large to index in memory. The patterns are lower case with
+    // LIKE wildcards escaped by '!': prefix matches whole values, word matches after a space.
+    @Query("select new com.example.backend.dto.SearchHit(p.id, p.productName, s.id, s.skuCode, s.colour, s.size)"
+        + " from Product p left join ProductSku s on s.product = p where p.tenantid = :tenantid"
+        + " and (lower(p.productName) like :prefix escape '!' or lower(p.productName) like :word escape '!'"
+        + " or lower(s.skuCode) like :prefix escape '!' or lower(s.colour) like :prefix escape '!'"
+        + " or lower(s.colour) like :word escape '!' or lower(s.size) like :prefix escape '!')"
+        + " order by p.productName, s.skuCode")
+    List<SearchHit> searchHitsBytenantid(@Param("tenantid") Long tenantid, @Param("prefix") String prefix,
+        @Param("word") String word, Pageable pageable);
+}
@@ -1,16 +1,44 @@
 package com.example.backend.repository;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.example.backend.config.CatalogCacheConfig;
+import com.example.backend.dto.SkuQuantity;
+import com.example.backend.dto.StockLevel;
 import com.example.backend.entity.ProductSku;
 
-public interface ProductSkuRepository extends JpaRepository<ProductSku, Long> {
+import jakarta.persistence.QueryHint;
 
+public interface ProductSkuRepository extends JpaRepository<ProductSku, Long>, ProductSkuRepositoryCustom {
+
+    // The SKU pickers; cached per tenant and per product in the catalog query regions.
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CatalogCacheConfig.TENANT_QUERY_REGION)
+    })
     List<ProductSku> findByTenantID(Long tenantID);
 
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CatalogCacheConfig.PRODUCT_QUERY_REGION)
+    })
     List<ProductSku> findByProduct_Id(Long productId);
 
     ProductSku findFirstBySkuCodeAndTenantID(String skuCode, Long tenantID);
+
+    List<ProductSku> findByTenantIDAndSkuCodeInOrderByIdAsc(Long tenantID, Collection<String> skuCodes);
+
+    // Reads current levels straight from the table, bypassing entities already in the session.
+    @Query("select s.skuCode as sku, cast(s.quantityAvailable as long) as quantity from ProductSku s where s.id in :ids")
+    List<SkuQuantity> findQuantities(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.example.backend.dto.StockLevel(s.id, s.quantityAvailable, s.levelVersion) from ProductSku s where s.id in :ids")
+    List<StockLevel> findLevels(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,22 @@
+package com.example.backend.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.example.backend.dto.InventoryLevel;
+
+public interface ProductSkuRepositoryCustom {
+
+    // Adds each delta with a conditional UPDATE that refuses to take a quantity below zero or
+    // past Integer.MAX_VALUE, sent as one JDBC batch. Returns the ids whose update was refused.
+    List<Long> adjustQuantities(Long tenantID, Map<Long, Integer> deltasById);
+
+    // Sets (or with a null value clears) each SKU's reorder threshold in one JDBC batch.
+    // Returns the ids that are not SKUs of the tenant.
+    List<Long> setReorderThresholds(Long tenantID, Map<Long, Integer> thresholdsById);
+
+    // Hands every SKU level of the tenant to the consumer as rows are read, in id order.
+    // Call inside a transaction so PostgreSQL streams through a cursor.
+    void forEachLevel(Long tenantID, Consumer<InventoryLevel> consumer);
+}
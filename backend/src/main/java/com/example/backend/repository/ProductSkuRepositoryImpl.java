@@ -0,0 +1,125 @@
+package com.example.backend.repository;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.backend.dto.InventoryLevel;
+import com.example.backend.entity.ProductSku;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+
+public class ProductSkuRepositoryImpl implements ProductSkuRepositoryCustom {
+
+    private static final String ADJUST_SQL = "UPDATE product_skus SET quantity_available = quantity_available + ?,"
+        + " level_version = level_version + 1 WHERE id = ? AND tenantid = ? AND quantity_available >= ?"
+        + " AND quantity_available <= ?";
+
+    private static final String THRESHOLD_SQL = "UPDATE product_skus SET reorder_threshold = ?"
+        + " WHERE id = ? AND tenantid = ?";
+
+    private static final String LEVELS_SQL = "SELECT ps.id, ps.sku_code, ps.product_id, p.product_name, ps.colour,"
+        + " ps.size, ps.quantity_available FROM product_skus ps LEFT JOIN products p ON p.id = ps.product_id"
+        + " WHERE ps.tenantid = ? ORDER BY ps.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingTemplate;
+    private final Cache secondLevelCache;
+
+    public ProductSkuRepositoryImpl(JdbcTemplate jdbcTemplate, @Value("${export.fetch-size:1000}") int fetchSize,
+            EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.secondLevelCache = entityManagerFactory.getCache();
+        this.streamingTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingTemplate.setFetchSize(fetchSize);
+    }
+
+    @Override
+    public List<Long> adjustQuantities(Long tenantID, Map<Long, Integer> deltasById) {
+        if (deltasById.isEmpty()) {
+            return List.of();
+        }
+        // quantity_available >= -delta is the "quantity + delta >= 0" guard, and
+        // quantity_available <= MAX_VALUE - delta keeps an increment from overflowing the column.
+        // Id order keeps row locks acquired in the same order by every concurrent caller.
+        List<Map.Entry<Long, Integer>> deltas = new ArrayList<>(new TreeMap<>(deltasById).entrySet());
+        int[] counts = jdbcTemplate.batchUpdate(ADJUST_SQL, deltas, deltas.size(), (ps, delta) -> {
+            ps.setInt(1, delta.getValue());
+            ps.setLong(2, delta.getKey());
+            ps.setLong(3, tenantID);
+            ps.setInt(4, -delta.getValue());
+            ps.setInt(5, Integer.MAX_VALUE - Math.max(0, delta.getValue()));
+        })[0];
+        evict(deltasById.keySet());
+
+        List<Long> refused = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                refused.add(deltas.get(i).getKey());
+            }
+        }
+        return refused;
+    }
+
+    @Override
+    public List<Long> setReorderThresholds(Long tenantID, Map<Long, Integer> thresholdsById) {
+        if (thresholdsById.isEmpty()) {
+            return List.of();
+        }
+        List<Map.Entry<Long, Integer>> thresholds = new ArrayList<>(new TreeMap<>(thresholdsById).entrySet());
+        int[] counts = jdbcTemplate.batchUpdate(THRESHOLD_SQL, thresholds, thresholds.size(), (ps, threshold) -> {
+            ps.setObject(1, threshold.getValue(), Types.INTEGER);
+            ps.setLong(2, threshold.getKey());
+            ps.setLong(3, tenantID);
+        })[0];
+        evict(thresholdsById.keySet());
+
+        List<Long> unknown = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                unknown.add(thresholds.get(i).getKey());
+            }
+        }
+        return unknown;
+    }
+
+    // The UPDATE bypasses Hibernate, so the cached rows are dropped now and again once the
+    // transaction ends, in case a concurrent read cached the old quantity in between.
+    private void evict(Collection<Long> ids) {
+        List<Long> evicted = List.copyOf(ids);
+        evicted.forEach(id -> secondLevelCache.evict(ProductSku.class, id));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evicted.forEach(id -> secondLevelCache.evict(ProductSku.class, id));
+                }
+            });
+        }
+    }
+
+    @Override
+    public void forEachLevel(Long tenantID, Consumer<InventoryLevel> consumer) {
+        streamingTemplate.query(LEVELS_SQL, rs -> {
+            consumer.accept(new InventoryLevel(
+                rs.getLong("id"),
+                rs.getString("sku_code"),
+                rs.getObject("product_id", Long.class),
+                rs.getString("product_name"),
+                rs.getString("colour"),
+                rs.getString("size"),
+                rs.getInt("quantity_available")
+            ));
+        }, tenantID);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.backend.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.example.backend.dto.StockAlert;
+
+@Repository
+public class StockAlertJdbcRepository {
+
+    private static final RowMapper<StockAlert> ROW_MAPPER = StockAlertJdbcRepository::mapRow;
+
+    // Runs after the quantity batch, so quantity_available is already the new level and the
+    // level before is that plus the document's total for the SKU. Only the SKUs the finalize
+    // adjusted are looked at, by primary key.
+    private static final String RECORD_STOCK_OUT_SQL = "INSERT INTO stock_alerts (tenant_id, sku_id, sku_code,"
+        + " reorder_threshold, quantity_before, quantity_after, record_id, running_number, created_at)"
+        + " SELECT ps.tenantid, ps.id, ps.sku_code, ps.reorder_threshold, ps.quantity_available + t.quantity,"
+        + " ps.quantity_available, s.id, s.running_number, LOCALTIMESTAMP"
+        + " FROM stock_out s"
+        + " JOIN product_skus ps ON ps.tenantid = s.tenant_id"
+        + " JOIN (SELECT d.sku, SUM(d.quantity) AS quantity FROM stock_out_details d"
+        + " WHERE d.stock_out_id = :id GROUP BY d.sku) t ON t.sku = ps.sku_code"
+        + " WHERE s.id = :id AND ps.id IN (:skuIds) AND ps.reorder_threshold IS NOT NULL"
+        + " AND ps.quantity_available < ps.reorder_threshold"
+        + " AND ps.quantity_available + t.quantity >= ps.reorder_threshold";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public StockAlertJdbcRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Records a crossing for every adjusted SKU this stock-out took below its threshold.
+    // Stock-ins only raise levels, so they never cross downwards.
+    public int recordStockOutCrossings(Long stockOutId, Collection<Long> skuIds) {
+        if (skuIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(RECORD_STOCK_OUT_SQL, new MapSqlParameterSource()
+            .addValue("id", stockOutId)
+            .addValue("skuIds", skuIds));
+    }
+
+    // Newest first. A null afterId starts at the newest alert.
+    public List<StockAlert> find(Long tenantId, Long afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("tenantId", tenantId)
+            .addValue("limit", limit);
+        StringBuilder sql = new StringBuilder("SELECT id, sku_id, sku_code, reorder_threshold, quantity_before,")
+            .append(" quantity_after, record_id, running_number, created_at")
+            .append(" FROM stock_alerts WHERE tenant_id = :tenantId");
+        if (afterId != null) {
+            sql.append(" AND id < :afterId");
+            params.addValue("afterId", afterId);
+        }
+        sql.append(" ORDER BY id DESC LIMIT :limit");
+        return jdbcTemplate.query(sql.toString(), params, ROW_MAPPER);
+    }
+
+    private static StockAlert mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new StockAlert(
+            rs.getLong("id"),
+            rs.getLong("sku_id"),
+            rs.getString("sku_code"),
+            rs.getInt("reorder_threshold"),
+            rs.getInt("quantity_before"),
+            rs.getInt("quantity_after"),
+            rs.getLong("record_id"),
+            rs.getString("running_number"),
+            rs.getObject("created_at", LocalDateTime.class)
+        );
+    }
+}
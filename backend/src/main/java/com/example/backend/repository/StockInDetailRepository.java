@@ -3,9 +3,16 @@ package com.example.backend.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.example.backend.dto.SkuQuantity;
 import com.example.backend.entity.StockInDetail;
 
-public interface StockInDetailRepository extends JpaRepository<StockInDetail, Long> {
+public interface StockInDetailRepository extends JpaRepository<StockInDetail, Long>, StockInDetailRepositoryCustom {
     List<StockInDetail> findByStockIn_Id(Long stockInId);
+
+    @Query("select d.sku as sku, sum(d.quantity) as quantity from StockInDetail d"
+        + " where d.stockIn.id = :stockInId and d.sku is not null and d.sku <> '' group by d.sku")
+    List<SkuQuantity> sumQuantityBySku(@Param("stockInId") Long stockInId);
 }
@@ -0,0 +1,12 @@
+package com.example.backend.repository;
+
+import java.util.List;
+
+import com.example.backend.entity.StockInDetail;
+
+public interface StockInDetailRepositoryCustom {
+
+    // Inserts the lines under one stock in as a single JDBC batch, bypassing the persistence
+    // context so large imports do not accumulate managed entities.
+    void insertAll(Long stockInId, List<StockInDetail> details);
+}
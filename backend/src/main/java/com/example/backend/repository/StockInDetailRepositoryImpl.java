@@ -0,0 +1,32 @@
+package com.example.backend.repository;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.backend.entity.StockInDetail;
+
+public class StockInDetailRepositoryImpl implements StockInDetailRepositoryCustom {
+
+    private static final String INSERT_SQL = "INSERT INTO stock_in_details (product_name, sku, quantity, stock_in_id)"
+        + " VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StockInDetailRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(Long stockInId, List<StockInDetail> details) {
+        if (details.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, details, details.size(), (ps, detail) -> {
+            ps.setString(1, detail.getProductName());
+            ps.setString(2, detail.getSku());
+            ps.setInt(3, detail.getQuantity());
+            ps.setLong(4, stockInId);
+        });
+    }
+}
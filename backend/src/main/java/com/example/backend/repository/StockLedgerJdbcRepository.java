@@ -0,0 +1,165 @@
+package com.example.backend.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.example.backend.dto.StockLedgerCursor;
+import com.example.backend.dto.StockLedgerEntry;
+import com.example.backend.dto.StockLedgerFilter;
+
+@Repository
+public class StockLedgerJdbcRepository {
+
+    private static final RowMapper<LedgerRow> ROW_MAPPER = StockLedgerJdbcRepository::mapRow;
+
+    private static final String INSERT_COLUMNS = "INSERT INTO stock_ledger (tenant_id, type, record_id, detail_id,"
+        + " running_number, stock_date, product_id, product_name, sku, quantity, created_by_id, created_by_name)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate streamingTemplate;
+
+    public StockLedgerJdbcRepository(
+        NamedParameterJdbcTemplate jdbcTemplate,
+        @Value("${export.fetch-size:1000}") int fetchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getJdbcTemplate().getDataSource());
+        streaming.setFetchSize(fetchSize);
+        this.streamingTemplate = new NamedParameterJdbcTemplate(streaming);
+    }
+
+    // Newest first, ordered by (date, id). A null limit returns every matching line.
+    public List<LedgerRow> find(Long tenantId, StockLedgerFilter filter, StockLedgerCursor after, Integer limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = selectSql(tenantId, filter, after, limit, params);
+        return jdbcTemplate.query(sql, params, ROW_MAPPER);
+    }
+
+    // Hands every matching line to the consumer as it is read, in the same order as find.
+    // Call inside a transaction: PostgreSQL only uses a cursor for the fetch size when
+    // autocommit is off, and otherwise loads the whole result first.
+    public void forEach(Long tenantId, StockLedgerFilter filter, Consumer<StockLedgerEntry> consumer) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = selectSql(tenantId, filter, null, null, params);
+        streamingTemplate.query(sql, params, rs -> {
+            consumer.accept(mapRow(rs, 0).getEntry());
+        });
+    }
+
+    private static String selectSql(Long tenantId, StockLedgerFilter filter, StockLedgerCursor after,
+            Integer limit, MapSqlParameterSource params) {
+        params.addValue("tenantId", tenantId);
+        StringBuilder sql = new StringBuilder("SELECT id, type, record_id, running_number, stock_date,")
+            .append(" product_name, sku, quantity, created_by_id, created_by_name")
+            .append(" FROM stock_ledger WHERE tenant_id = :tenantId");
+
+        if (filter.from != null) {
+            sql.append(" AND stock_date >= :from");
+            params.addValue("from", filter.from);
+        }
+        if (filter.to != null) {
+            sql.append(" AND stock_date < :to");
+            params.addValue("to", filter.to);
+        }
+        if (filter.sku != null) {
+            sql.append(" AND sku = :sku");
+            params.addValue("sku", filter.sku);
+        }
+        if (filter.productId != null) {
+            sql.append(" AND product_id = :productId");
+            params.addValue("productId", filter.productId);
+        }
+        if (filter.type != null) {
+            sql.append(" AND type = :type");
+            params.addValue("type", filter.type);
+        }
+        if (filter.createdBy != null) {
+            sql.append(" AND created_by_id = :createdBy");
+            params.addValue("createdBy", filter.createdBy);
+        }
+        if (after != null) {
+            sql.append(" AND (stock_date < :afterDate OR (stock_date = :afterDate AND id < :afterId))");
+            params.addValue("afterDate", after.getDate());
+            params.addValue("afterId", after.getId());
+        }
+
+        sql.append(" ORDER BY stock_date DESC, id DESC");
+        if (limit != null) {
+            sql.append(" LIMIT :limit");
+            params.addValue("limit", limit);
+        }
+        return sql.toString();
+    }
+
+    // Copies the lines of one stock-in document into the ledger, resolving names and products in SQL.
+    public int appendStockIn(Long stockInId) {
+        return jdbcTemplate.update(copySql("IN", "s.id = :id"), new MapSqlParameterSource("id", stockInId));
+    }
+
+    public int appendStockOut(Long stockOutId) {
+        return jdbcTemplate.update(copySql("OUT", "s.id = :id"), new MapSqlParameterSource("id", stockOutId));
+    }
+
+    // Copies every finalized line that is not in the ledger yet; safe to run repeatedly.
+    public int backfill(String type) {
+        String missing = "s.finalized = TRUE AND NOT EXISTS (SELECT 1 FROM stock_ledger x"
+            + " WHERE x.type = '" + type + "' AND x.detail_id = d.id)";
+        return jdbcTemplate.update(copySql(type, missing), new MapSqlParameterSource());
+    }
+
+    private static String copySql(String type, String where) {
+        String header = "IN".equals(type) ? "stock_in" : "stock_out";
+        String fk = "IN".equals(type) ? "stock_in_id" : "stock_out_id";
+        return INSERT_COLUMNS
+            + " SELECT s.tenant_id, '" + type + "', s.id, d.id, s.running_number, s.stock_date,"
+            + " (SELECT MIN(ps.product_id) FROM product_skus ps WHERE ps.tenantid = s.tenant_id AND ps.sku_code = d.sku),"
+            + " d.product_name, d.sku, d.quantity, s.created_by, u.name"
+            + " FROM " + header + "_details d"
+            + " JOIN " + header + " s ON s.id = d." + fk
+            + " LEFT JOIN users u ON u.id = s.created_by"
+            + " WHERE " + where;
+    }
+
+    private static LedgerRow mapRow(ResultSet rs, int rowNum) throws SQLException {
+        StockLedgerEntry entry = new StockLedgerEntry(
+            rs.getString("type"),
+            rs.getLong("record_id"),
+            rs.getString("running_number"),
+            rs.getObject("stock_date", LocalDateTime.class),
+            rs.getString("product_name"),
+            rs.getString("sku"),
+            rs.getInt("quantity"),
+            rs.getObject("created_by_id", Long.class),
+            rs.getString("created_by_name")
+        );
+        return new LedgerRow(entry, rs.getLong("id"));
+    }
+
+    public static class LedgerRow {
+        private final StockLedgerEntry entry;
+        private final Long id;
+
+        public LedgerRow(StockLedgerEntry entry, Long id) {
+            this.entry = entry;
+            this.id = id;
+        }
+
+        public StockLedgerEntry getEntry() {
+            return entry;
+        }
+
+        public StockLedgerCursor toCursor() {
+            return new StockLedgerCursor(entry.getDate(), id);
+        }
+    }
+}
@@ -3,9 +3,16 @@ package com.example.backend.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.example.backend.dto.SkuQuantity;
 import com.example.backend.entity.StockOutDetail;
 
 public interface StockOutDetailRepository extends JpaRepository<StockOutDetail, Long> {
     List<StockOutDetail> findByStockOut_Id(Long stockOutId);
+
+    @Query("select d.sku as sku, sum(d.quantity) as quantity from StockOutDetail d"
+        + " where d.stockOut.id = :stockOutId and d.sku is not null and d.sku <> '' group by d.sku")
+    List<SkuQuantity> sumQuantityBySku(@Param("stockOutId") Long stockOutId);
 }
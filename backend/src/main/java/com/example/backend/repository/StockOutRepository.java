@@ -1,12 +1,34 @@
 package com.example.backend.repository;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.example.backend.dto.StockDocumentSummary;
 import com.example.backend.entity.StockOut;
 
+import jakarta.persistence.LockModeType;
+
 public interface StockOutRepository extends JpaRepository<StockOut, Long> {
     List<StockOut> findBytenantId(Long tenantId);
     StockOut findFirstBytenantIdOrderByIdDesc(Long tenantId);
+
+    @Query("select new com.example.backend.dto.StockDocumentSummary(s.id, s.runningNumber, s.description,"
+        + " s.date, s.createdBy, s.tenantId, s.finalized, count(d.id), coalesce(sum(d.quantity), 0L))"
+        + " from StockOut s left join s.details d where s.tenantId = :tenantId"
+        + " group by s.id, s.runningNumber, s.description, s.date, s.createdBy, s.tenantId, s.finalized"
+        + " order by s.id")
+    List<StockDocumentSummary> findSummariesByTenantId(@Param("tenantId") Long tenantId);
+
+    @EntityGraph(attributePaths = "details")
+    Optional<StockOut> findWithDetailsById(Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from StockOut s where s.id = :id")
+    Optional<StockOut> findForUpdate(@Param("id") Long id);
 }
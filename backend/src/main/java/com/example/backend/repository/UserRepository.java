@@ -3,7 +3,13 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.backend.dto.DirectoryEntry;
+import com.example.backend.dto.UserSummary;
 import com.example.backend.entity.User;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -11,5 +17,22 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email); 
     List<User> findBytenantID(Long tenantID);    
 
+    @Query("select new com.example.backend.dto.UserSummary(u.id, u.email, u.name, u.companyName,"
+        + " u.employmentStatus, u.isDeleted, u.tenantID) from User u where u.tenantID = :tenantID order by u.id")
+    List<UserSummary> findSummariesByTenantID(@Param("tenantID") Long tenantID);
+
+    @Query("select new com.example.backend.dto.UserSummary(u.id, u.email, u.name, u.companyName,"
+        + " u.employmentStatus, u.isDeleted, u.tenantID) from User u where u.id = :id")
+    Optional<UserSummary> findSummaryById(@Param("id") Long id);
+
+    @Query("select new com.example.backend.dto.DirectoryEntry(u.id, u.name, u.employmentStatus)"
+        + " from User u where u.tenantID = :tenantID")
+    List<DirectoryEntry> findDirectoryByTenantID(@Param("tenantID") Long tenantID);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
 }
 
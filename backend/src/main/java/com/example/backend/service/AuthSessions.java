@@ -0,0 +1,130 @@
+package com.example.backend.service;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.example.backend.dto.Session;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+
+// Where the logged-in user lives between requests. With auth.mode=session (the default) it is
+// the servlet HttpSession, which needs sticky sessions once there is more than one node. With
+// auth.mode=token it is a signed token from SessionTokenService in an HttpOnly cookie (or an
+// Authorization: Bearer header), and no node keeps any state beyond the denylist.
+@Component
+public class AuthSessions {
+
+    public static final String COOKIE = "auth_token";
+
+    private static final String CURRENT = AuthSessions.class.getName() + ".current";
+
+    private final boolean tokenMode;
+    private final boolean secureCookie;
+    private final SessionTokenService tokens;
+
+    public AuthSessions(
+        @Value("${auth.mode:session}") String mode,
+        @Value("${auth.token.cookie-secure:false}") boolean secureCookie,
+        SessionTokenService tokens
+    ) {
+        if (!"session".equals(mode) && !"token".equals(mode)) {
+            throw new IllegalStateException("auth.mode must be session or token, not " + mode);
+        }
+        this.tokenMode = "token".equals(mode);
+        if (tokenMode && !tokens.canIssue()) {
+            throw new IllegalStateException("auth.mode=token needs auth.token.keys and auth.token.active-key");
+        }
+        this.secureCookie = secureCookie;
+        this.tokens = tokens;
+    }
+
+    // The caller's session, resolved once per request.
+    public Optional<Session> current(HttpServletRequest request) {
+        Object cached = request.getAttribute(CURRENT);
+        if (cached instanceof Session session) {
+            return Optional.of(session);
+        }
+        Optional<Session> session = tokenMode ? tokens.verify(token(request)) : fromHttpSession(request);
+        session.ifPresent(value -> request.setAttribute(CURRENT, value));
+        return session;
+    }
+
+    // Answers a successful login and makes the user current for the following requests.
+    public ResponseEntity<Session> start(Session session, HttpServletRequest request) {
+        if (!tokenMode) {
+            HttpSession httpSession = request.getSession();
+            httpSession.setAttribute("userId", session.getUserId());
+            httpSession.setAttribute("email", session.getEmail());
+            httpSession.setAttribute("name", session.getName());
+            httpSession.setAttribute("companyName", session.getCompanyName());
+            httpSession.setAttribute("tenantID", session.getTenantID());
+            httpSession.setAttribute("employmentStatus", session.getEmploymentStatus());
+            return ResponseEntity.ok(session);
+        }
+        String token = tokens.issue(session);
+        return ResponseEntity.ok()
+            .header(HttpHeaders.SET_COOKIE, cookie(token, tokens.getTtl().toSeconds()).toString())
+            .body(session);
+    }
+
+    public ResponseEntity<String> end(HttpServletRequest request) {
+        if (!tokenMode) {
+            HttpSession httpSession = request.getSession(false);
+            if (httpSession != null) {
+                httpSession.invalidate();
+            }
+            return ResponseEntity.ok("Logged out");
+        }
+        tokens.revoke(token(request));
+        return ResponseEntity.ok()
+            .header(HttpHeaders.SET_COOKIE, cookie("", 0).toString())
+            .body("Logged out");
+    }
+
+    private ResponseCookie cookie(String value, long maxAgeSeconds) {
+        return ResponseCookie.from(COOKIE, value)
+            .httpOnly(true)
+            .secure(secureCookie)
+            .sameSite("Lax")
+            .path("/")
+            .maxAge(maxAgeSeconds)
+            .build();
+    }
+
+    private static String token(HttpServletRequest request) {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            return authorization.substring("Bearer ".length());
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (COOKIE.equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Optional<Session> fromHttpSession(HttpServletRequest request) {
+        HttpSession httpSession = request.getSession(false);
+        if (httpSession == null || httpSession.getAttribute("email") == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new Session(
+            (Long) httpSession.getAttribute("userId"),
+            (String) httpSession.getAttribute("email"),
+            (String) httpSession.getAttribute("name"),
+            (String) httpSession.getAttribute("companyName"),
+            (Long) httpSession.getAttribute("tenantID"),
+            (Integer) httpSession.getAttribute("employmentStatus")));
+    }
+}
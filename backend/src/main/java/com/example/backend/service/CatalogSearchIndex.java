@@ -0,0 +1,250 @@
+package com.example.backend.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.example.backend.dto.SearchHit;
+import com.example.backend.repository.ProductRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Per-tenant typeahead over product names and SKU code, colour and size. A tenant's index is
+// loaded with one query on its first search and held as a sorted array of terms, so a lookup
+// is a binary search plus a scan of at most a few terms per result. ProductController and
+// ProductSkuController call refresh after every write: the index is rebuilt in the background
+// while searches keep using the previous one, and a burst of writes costs one or two rebuilds.
+// The expiry only limits how stale another node's copy can get. Tenants with more entries than
+// max-tenant-entries are never held; their searches run as a query instead.
+@Service
+public class CatalogSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSearchIndex.class);
+
+    private final ProductRepository productRepository;
+    private final int maxTenantEntries;
+    private final Executor rebuildExecutor;
+    private final Cache<Long, TenantIndex> tenants;
+    // Tenants known to be over max-tenant-entries, rechecked after the same expiry.
+    private final Cache<Long, Boolean> oversized;
+    private final Set<Long> rebuilding = ConcurrentHashMap.newKeySet();
+    private final Set<Long> stale = ConcurrentHashMap.newKeySet();
+
+    public CatalogSearchIndex(
+        ProductRepository productRepository,
+        @Value("${catalog-search.maximum-entries:500000}") long maximumEntries,
+        @Value("${catalog-search.max-tenant-entries:100000}") int maxTenantEntries,
+        @Value("${catalog-search.expire-after-write:10m}") Duration expireAfterWrite,
+        @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor rebuildExecutor,
+        MeterRegistry meterRegistry
+    ) {
+        this.productRepository = productRepository;
+        // A tenant weighing more than the whole cache would be evicted as soon as it was loaded.
+        this.maxTenantEntries = (int) Math.min(maxTenantEntries, maximumEntries);
+        this.rebuildExecutor = rebuildExecutor;
+        this.tenants = Caffeine.newBuilder()
+            .maximumWeight(maximumEntries)
+            .weigher((Long tenantId, TenantIndex index) -> Math.max(1, index.hits.length))
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build();
+        this.oversized = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(expireAfterWrite)
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tenants, "catalog-search");
+    }
+
+    // Entries with a product name or SKU code, colour or size (or a word of one) that starts
+    // with the query, case-insensitively. Exact matches come first, then in term order.
+    public List<SearchHit> search(Long tenantId, String query, int limit) {
+        String prefix = normalize(query);
+        if (tenantId == null || prefix.isEmpty()) {
+            return List.of();
+        }
+        TenantIndex index = oversized.getIfPresent(tenantId) != null ? null : tenants.get(tenantId, this::load);
+        if (index == null) {
+            return queryHits(tenantId, prefix, limit);
+        }
+        return index.search(prefix, limit);
+    }
+
+    // Rebuilds a held tenant's index after a write, off the caller's thread. Writes arriving
+    // while a rebuild runs are picked up by one more rebuild once it finishes.
+    public void refresh(Long tenantId) {
+        if (tenantId == null) {
+            return;
+        }
+        if (tenants.getIfPresent(tenantId) == null) {
+            // Not held, or a first load is running and may have read before this write; that
+            // load is dropped once it finishes and the next search loads again.
+            tenants.invalidate(tenantId);
+            return;
+        }
+        stale.add(tenantId);
+        scheduleRebuild(tenantId);
+    }
+
+    private void scheduleRebuild(Long tenantId) {
+        if (rebuilding.add(tenantId)) {
+            try {
+                rebuildExecutor.execute(() -> rebuild(tenantId));
+            } catch (RejectedExecutionException ex) {
+                rebuilding.remove(tenantId);
+                tenants.invalidate(tenantId);
+            }
+        }
+    }
+
+    private void rebuild(Long tenantId) {
+        try {
+            while (stale.remove(tenantId)) {
+                TenantIndex index = load(tenantId);
+                if (index != null) {
+                    tenants.put(tenantId, index);
+                } else {
+                    tenants.invalidate(tenantId);
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Rebuilding the search index of tenant {} failed; it is reloaded on the next search",
+                tenantId, ex);
+            tenants.invalidate(tenantId);
+        } finally {
+            rebuilding.remove(tenantId);
+        }
+        // A write that came after the last check but before rebuilding was cleared.
+        if (stale.contains(tenantId)) {
+            scheduleRebuild(tenantId);
+        }
+    }
+
+    // Null, and remembered, when the tenant has too many entries to hold.
+    private TenantIndex load(Long tenantId) {
+        List<SearchHit> rows = productRepository.findSearchHitsBytenantid(tenantId,
+            PageRequest.of(0, maxTenantEntries + 1));
+        if (rows.size() > maxTenantEntries) {
+            oversized.put(tenantId, Boolean.TRUE);
+            return null;
+        }
+        return TenantIndex.build(rows);
+    }
+
+    private List<SearchHit> queryHits(Long tenantId, String prefix, int limit) {
+        String escaped = prefix.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+        return productRepository.searchHitsBytenantid(tenantId, escaped + "%", "% " + escaped + "%",
+            PageRequest.of(0, limit));
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.strip().toLowerCase(Locale.ROOT);
+    }
+
+    static final class TenantIndex {
+        private final SearchHit[] hits;
+        // Sorted; owners[i] is the index into hits of the entry terms[i] was taken from.
+        private final String[] terms;
+        private final int[] owners;
+
+        private TenantIndex(SearchHit[] hits, String[] terms, int[] owners) {
+            this.hits = hits;
+            this.terms = terms;
+            this.owners = owners;
+        }
+
+        static TenantIndex build(List<SearchHit> rows) {
+            SearchHit[] hits = rows.toArray(new SearchHit[0]);
+            // Colours, sizes and name words repeat across a catalog, so each term is held once.
+            Map<String, String> interned = new HashMap<>();
+            List<String> termList = new ArrayList<>();
+            List<Integer> ownerList = new ArrayList<>();
+            Set<String> own = new HashSet<>();
+            for (int i = 0; i < hits.length; i++) {
+                own.clear();
+                addTerms(own, hits[i].getProductName());
+                addTerms(own, hits[i].getSkuCode());
+                addTerms(own, hits[i].getColour());
+                addTerms(own, hits[i].getSize());
+                for (String term : own) {
+                    termList.add(interned.computeIfAbsent(term, key -> key));
+                    ownerList.add(i);
+                }
+            }
+
+            Integer[] order = new Integer[termList.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing((Integer i) -> termList.get(i)).thenComparing(ownerList::get));
+            String[] terms = new String[order.length];
+            int[] owners = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                terms[i] = termList.get(order[i]);
+                owners[i] = ownerList.get(order[i]);
+            }
+            return new TenantIndex(hits, terms, owners);
+        }
+
+        // The whole value, so a multi-word prefix like "blue sh" matches, plus each word of it.
+        private static void addTerms(Set<String> own, String value) {
+            String text = normalize(value);
+            if (text.isEmpty()) {
+                return;
+            }
+            own.add(text);
+            for (String word : text.split("[^\\p{L}\\p{N}]+")) {
+                if (!word.isEmpty()) {
+                    own.add(word);
+                }
+            }
+        }
+
+        List<SearchHit> search(String prefix, int limit) {
+            List<SearchHit> result = new ArrayList<>(Math.min(limit, 64));
+            Set<Integer> seen = new HashSet<>();
+            for (int i = lowerBound(prefix); i < terms.length && result.size() < limit
+                    && terms[i].startsWith(prefix); i++) {
+                if (seen.add(owners[i])) {
+                    result.add(hits[owners[i]]);
+                }
+            }
+            return result;
+        }
+
+        // First term not less than the prefix; every term starting with it follows directly.
+        private int lowerBound(String prefix) {
+            int low = 0;
+            int high = terms.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (terms[mid].compareTo(prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
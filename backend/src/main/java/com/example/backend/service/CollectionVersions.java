@@ -0,0 +1,89 @@
+package com.example.backend.service;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.WebRequest;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+// Per-tenant version counters for the polled list endpoints. Controllers bump a collection
+// after every write to it has committed, and the list endpoints use the version as their ETag,
+// so a poll whose If-None-Match still matches gets a 304 without loading the list. Versions
+// live in collection_versions, shared by all nodes; each node reuses a version it read for up
+// to max-age, so a write on another node is seen by polls here within that time, and one on
+// this node at once.
+@Service
+public class CollectionVersions {
+
+    public enum Kind {
+        PRODUCTS("products"),
+        PRODUCT_SKUS("product-skus"),
+        STOCK_IN("stock-in"),
+        STOCK_OUT("stock-out");
+
+        private final String tag;
+
+        Kind(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private static final String SELECT_SQL = "SELECT version FROM collection_versions WHERE tenant_id = ? AND kind = ?";
+    private static final String BUMP_SQL =
+        "UPDATE collection_versions SET version = version + 1 WHERE tenant_id = ? AND kind = ?";
+    private static final String INSERT_SQL = "INSERT INTO collection_versions (tenant_id, kind, version) VALUES (?, ?, 1)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LoadingCache<Key, Long> versions;
+
+    public CollectionVersions(
+        JdbcTemplate jdbcTemplate,
+        @Value("${collection-versions.maximum-size:100000}") long maximumSize,
+        @Value("${collection-versions.max-age:1s}") Duration maxAge
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.versions = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(maxAge)
+            .build(this::load);
+    }
+
+    public String etag(Kind kind, Long tenantId) {
+        return "\"" + kind.tag + "-" + tenantId + "-" + versions.get(new Key(kind, tenantId)) + "\"";
+    }
+
+    // Sets the ETag and answers 304 when the client's copy is current. Call before loading the
+    // list, so a write that commits meanwhile is always seen by the next poll.
+    public boolean notModified(Kind kind, Long tenantId, WebRequest request) {
+        return request.checkNotModified(etag(kind, tenantId));
+    }
+
+    public void bump(Kind kind, Long tenantId) {
+        if (tenantId == null) {
+            return;
+        }
+        if (jdbcTemplate.update(BUMP_SQL, tenantId, kind.tag) == 0) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, tenantId, kind.tag);
+            } catch (DuplicateKeyException ex) {
+                // Another node created the row first.
+                jdbcTemplate.update(BUMP_SQL, tenantId, kind.tag);
+            }
+        }
+        versions.invalidate(new Key(kind, tenantId));
+    }
+
+    private long load(Key key) {
+        List<Long> found = jdbcTemplate.queryForList(SELECT_SQL, Long.class, key.tenantId(), key.kind().tag);
+        return found.isEmpty() ? 0 : found.get(0);
+    }
+
+    private record Key(Kind kind, Long tenantId) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.backend.service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+// Per-node denylist. Entries drop out only when the revoked token expires, so its size is
+// bounded by the logouts within one token lifetime. There is deliberately no size cap: evicting
+// an entry early would make a logged-out token valid again.
+public class InMemoryTokenDenylist implements TokenDenylist {
+
+    private final Cache<String, Instant> revoked;
+
+    public InMemoryTokenDenylist() {
+        this.revoked = Caffeine.newBuilder()
+            .expireAfter(new Expiry<String, Instant>() {
+                @Override
+                public long expireAfterCreate(String key, Instant expiresAt, long currentTime) {
+                    return Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, Instant expiresAt, long currentTime, long currentDuration) {
+                    return expireAfterCreate(key, expiresAt, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(String key, Instant expiresAt, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+    }
+
+    @Override
+    public void revoke(String tokenId, Instant expiresAt) {
+        revoked.put(tokenId, expiresAt);
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId) {
+        return revoked.getIfPresent(tokenId) != null;
+    }
+}
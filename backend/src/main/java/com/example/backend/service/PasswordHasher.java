@@ -0,0 +1,97 @@
+package com.example.backend.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+
+// Runs BCrypt on its own pool, one thread per core by default, so a burst of logins uses the
+// CPU it needs without taking request threads from every other endpoint. When the queue is
+// full new work is refused with PasswordHashingBusyException rather than queued without end.
+@Service
+public class PasswordHasher {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHasher.class);
+
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+
+    public PasswordHasher(
+        @Value("${password-hashing.strength:10}") int strength,
+        @Value("${password-hashing.threads:0}") int threads,
+        @Value("${password-hashing.queue-capacity:100}") int queueCapacity,
+        @Value("${password-hashing.retry-after-seconds:1}") long retryAfterSeconds,
+        MeterRegistry meterRegistry
+    ) {
+        this.encoder = new BCryptPasswordEncoder(strength);
+        this.retryAfterSeconds = retryAfterSeconds;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            task -> {
+                Thread thread = new Thread(task, "password-hashing-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "password-hashing");
+    }
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> encoder.encode(rawPassword));
+    }
+
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        return submit(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    // After a successful login, re-encodes the password in the background when its stored hash
+    // is below the configured strength. If the pool is busy it is left for the next login. The
+    // new hash is stored on storeExecutor, keeping database writes off the hashing threads.
+    public void upgradeIfNeeded(String rawPassword, String encodedPassword, Consumer<String> store,
+            Executor storeExecutor) {
+        if (!encoder.upgradeEncoding(encodedPassword)) {
+            return;
+        }
+        try {
+            encode(rawPassword)
+                .thenAcceptAsync(store, storeExecutor)
+                .exceptionally(ex -> {
+                    log.warn("Could not store upgraded password hash", ex);
+                    return null;
+                });
+        } catch (PasswordHashingBusyException ex) {
+            // Upgraded at a later login.
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> work) {
+        try {
+            return CompletableFuture.supplyAsync(work, executor);
+        } catch (RejectedExecutionException ex) {
+            throw new PasswordHashingBusyException(retryAfterSeconds);
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.example.backend.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.backend.dto.ImageVariant;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import jakarta.annotation.PreDestroy;
+
+// Stores product images under the SHA-256 of their content, so the same photo uploaded twice
+// is kept once, and renders the resized ImageVariant copies on a small bounded pool. When
+// the pool's queue is full the uploading request renders its own variants, which slows
+// uploads down instead of letting work pile up.
+@Service
+public class ProductImageStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImageStore.class);
+
+    public static final String URL_PREFIX = "/uploads/products/";
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final Path directory;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> rendering = ConcurrentHashMap.newKeySet();
+    // Whether each variant file is on disk, three entries per image. Content-addressed files
+    // never change once written, so a present one is remembered for good. A missing one is
+    // replaced when this node finishes rendering it, and looked for again after
+    // missing-variant-recheck in case another node sharing the directory rendered it.
+    private final Cache<String, Boolean> writtenVariants;
+
+    public ProductImageStore(
+        @Value("${product-images.directory:uploads/products}") String directory,
+        @Value("${product-images.workers:2}") int workers,
+        @Value("${product-images.queue-capacity:100}") int queueCapacity,
+        @Value("${product-images.missing-variant-recheck:1m}") Duration missingVariantRecheck
+    ) {
+        this.directory = Paths.get(directory);
+        this.writtenVariants = Caffeine.newBuilder()
+            .maximumSize(300_000)
+            .expireAfter(new Expiry<String, Boolean>() {
+                @Override
+                public long expireAfterCreate(String filename, Boolean written, long currentTime) {
+                    return written ? Long.MAX_VALUE : missingVariantRecheck.toNanos();
+                }
+
+                @Override
+                public long expireAfterUpdate(String filename, Boolean written, long currentTime, long currentDuration) {
+                    return expireAfterCreate(filename, written, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(String filename, Boolean written, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            task -> {
+                Thread thread = new Thread(task, "product-images-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // Saves the upload as <hash>.<ext> and queues its variants. Returns the original's URL path.
+    public String store(InputStream input) throws IOException {
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(input, digest)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String extension = detectExtension(temp);
+            Path original = directory.resolve(hash + "." + extension);
+
+            if (!Files.exists(original)) {
+                moveIntoPlace(temp, original);
+            }
+            if (ImageVariant.rendersFrom(extension) && !variantsExist(hash) && rendering.add(hash)) {
+                executor.execute(() -> {
+                    try {
+                        renderVariants(original, hash);
+                    } finally {
+                        rendering.remove(hash);
+                    }
+                });
+            }
+            return URL_PREFIX + original.getFileName();
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // The entries of ImageVariant.pathsFor whose files have been written. A variant is missing
+    // while it renders and after a failed render, and the caller then shows the original.
+    public Map<String, String> existingVariants(Map<String, String> variantPaths) {
+        Map<String, String> existing = new LinkedHashMap<>();
+        variantPaths.forEach((name, path) -> {
+            if (variantExists(path.substring(path.lastIndexOf('/') + 1))) {
+                existing.put(name, path);
+            }
+        });
+        return existing;
+    }
+
+    private boolean variantExists(String filename) {
+        return writtenVariants.get(filename, name -> Files.exists(directory.resolve(name)));
+    }
+
+    // Lets renders already queued finish so no variant is left half written.
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private boolean variantsExist(String hash) {
+        for (ImageVariant variant : ImageVariant.values()) {
+            if (!Files.exists(directory.resolve(variant.filename(hash)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Trusts the bytes, not the client's filename. WebP is accepted and stored, but the JDK has
+    // no WebP decoder, so such uploads get no variants and are served as uploaded.
+    private static String detectExtension(Path file) throws IOException {
+        try (ImageInputStream stream = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = stream != null ? ImageIO.getImageReaders(stream) : null;
+            if (readers != null && readers.hasNext()) {
+                String format = readers.next().getFormatName().toLowerCase(Locale.ROOT);
+                return "jpeg".equals(format) ? "jpg" : format;
+            }
+        }
+        byte[] header = new byte[12];
+        try (InputStream in = Files.newInputStream(file)) {
+            if (in.readNBytes(header, 0, header.length) == header.length
+                    && new String(header, 0, 4, StandardCharsets.US_ASCII).equals("RIFF")
+                    && new String(header, 8, 4, StandardCharsets.US_ASCII).equals("WEBP")) {
+                return "webp";
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported image type");
+    }
+
+    private void renderVariants(Path original, String hash) {
+        try {
+            BufferedImage source = decode(original, ImageVariant.DETAIL.getSize());
+            if (source == null) {
+                return;
+            }
+            // Largest first, so each smaller variant is scaled from the previous one.
+            ImageVariant[] variants = ImageVariant.values();
+            BufferedImage current = source;
+            for (int i = variants.length - 1; i >= 0; i--) {
+                current = scaleToFit(current, variants[i].getSize());
+                writeJpeg(current, directory.resolve(variants[i].filename(hash)));
+                writtenVariants.put(variants[i].filename(hash), Boolean.TRUE);
+            }
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not render variants for {}", original, ex);
+        }
+    }
+
+    // Decodes with source subsampling so a large photo is never held at full resolution when
+    // only a bounded-size copy is needed.
+    private static BufferedImage decode(Path file, int largestEdge) throws IOException {
+        try (ImageInputStream stream = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(stream, true, true);
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int step = Math.max(1, longest / (largestEdge * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Halves repeatedly, then makes one final bilinear step; never upscales. The result is
+    // always opaque RGB, with transparency flattened onto white for JPEG.
+    static BufferedImage scaleToFit(BufferedImage image, int maxEdge) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double ratio = Math.min(1.0, (double) maxEdge / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+        BufferedImage current = image;
+        do {
+            int nextWidth = Math.max(targetWidth, current.getWidth() / 2);
+            int nextHeight = Math.max(targetHeight, current.getHeight() / 2);
+            BufferedImage next = new BufferedImage(nextWidth, nextHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, nextWidth, nextHeight);
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, nextWidth, nextHeight, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (current.getWidth() != targetWidth || current.getHeight() != targetHeight);
+        return current;
+    }
+
+    private static void writeJpeg(BufferedImage image, Path target) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), "variant-", ".tmp");
+        try {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            try (OutputStream out = Files.newOutputStream(temp);
+                    ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+                param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+                writer.setOutput(stream);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            moveIntoPlace(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Readers only ever see complete files; if two uploads race, either copy is identical.
+    private static void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            try {
+                Files.move(source, target);
+            } catch (FileAlreadyExistsException exists) {
+                // Stored concurrently.
+            }
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
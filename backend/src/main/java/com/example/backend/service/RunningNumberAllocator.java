@@ -0,0 +1,169 @@
+package com.example.backend.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.backend.entity.DocumentCounter;
+import com.example.backend.entity.StockIn;
+import com.example.backend.entity.StockOut;
+import com.example.backend.repository.DocumentCounterRepository;
+import com.example.backend.repository.StockInRepository;
+import com.example.backend.repository.StockOutRepository;
+
+// Hands out running numbers from blocks reserved in document_counters, so most calls never
+// touch the database and numbers stay unique across nodes. Numbers left in a block when a
+// node stops are skipped, which leaves gaps but never duplicates. Numbers are zero-padded to the
+// width stored on the tenant's counter: running-number.width, or wider when the tenant's
+// existing numbers already are, so one sequence never mixes formats and always sorts as text.
+@Service
+public class RunningNumberAllocator {
+
+    public static final String STOCK_IN = "SI";
+    public static final String STOCK_OUT = "SO";
+
+    private final DocumentCounterRepository documentCounterRepository;
+    private final StockInRepository stockInRepository;
+    private final StockOutRepository stockOutRepository;
+    private final TransactionTemplate requiresNew;
+    private final int blockSize;
+    private final int width;
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    public RunningNumberAllocator(
+        DocumentCounterRepository documentCounterRepository,
+        StockInRepository stockInRepository,
+        StockOutRepository stockOutRepository,
+        PlatformTransactionManager transactionManager,
+        @Value("${running-number.block-size:20}") int blockSize,
+        @Value("${running-number.width:6}") int width
+    ) {
+        this.documentCounterRepository = documentCounterRepository;
+        this.stockInRepository = stockInRepository;
+        this.stockOutRepository = stockOutRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = blockSize;
+        this.width = width;
+    }
+
+    public String next(String docType, Long tenantId) {
+        Block block = blocks.computeIfAbsent(docType + ":" + tenantId, key -> new Block());
+        synchronized (block) {
+            if (block.next >= block.end) {
+                DocumentCounter counter = reserve(docType, tenantId);
+                block.next = counter.getNextValue() - blockSize;
+                block.end = counter.getNextValue();
+                block.width = counter.getWidth();
+            }
+            return format(docType, block.next++, block.width);
+        }
+    }
+
+    // Preview only: another node or request may take this number first.
+    public String peek(String docType, Long tenantId) {
+        Block block = blocks.get(docType + ":" + tenantId);
+        if (block != null) {
+            synchronized (block) {
+                if (block.next < block.end) {
+                    return format(docType, block.next, block.width);
+                }
+            }
+        }
+        DocumentCounter counter = documentCounterRepository.findByTenantIdAndDocType(tenantId, docType).orElse(null);
+        if (counter != null) {
+            return format(docType, counter.getNextValue(), counter.getWidth());
+        }
+        // No counter yet: the tenant's documents are what its counter will start from.
+        String last = lastRunningNumber(docType, tenantId);
+        return format(docType, parse(last) + 1, widthFor(last));
+    }
+
+    static String format(String docType, long value, int width) {
+        return docType + String.format("%0" + width + "d", value);
+    }
+
+    // The configured width, or the digits of the tenant's newest number when those are wider.
+    int widthFor(String lastRunningNumber) {
+        int digits = lastRunningNumber == null ? 0 : lastRunningNumber.replaceAll("[^0-9]", "").length();
+        return Math.max(width, digits);
+    }
+
+    // Moves the shared counter forward by one block and returns it; its next value is the
+    // block's exclusive end. Creating a missing counter is its own transaction, run before and
+    // never inside the reserving one, so a thread holds at most one pooled connection here.
+    private DocumentCounter reserve(String docType, Long tenantId) {
+        DocumentCounter counter = requiresNew.execute(status -> reserveBlock(docType, tenantId));
+        if (counter == null) {
+            createCounter(docType, tenantId);
+            counter = requiresNew.execute(status -> reserveBlock(docType, tenantId));
+        }
+        return counter;
+    }
+
+    // Null when the tenant has no counter yet.
+    private DocumentCounter reserveBlock(String docType, Long tenantId) {
+        if (documentCounterRepository.reserve(tenantId, docType, blockSize) == 0) {
+            return null;
+        }
+        return documentCounterRepository.findByTenantIdAndDocType(tenantId, docType).orElseThrow();
+    }
+
+    // Starts a tenant's counter after its newest existing number, at that number's width if it
+    // is wider than the configured one. Losing the insert race to another node is fine; its
+    // row is used instead.
+    private void createCounter(String docType, Long tenantId) {
+        try {
+            requiresNew.executeWithoutResult(status -> {
+                DocumentCounter counter = new DocumentCounter();
+                counter.setTenantId(tenantId);
+                counter.setDocType(docType);
+                String last = lastRunningNumber(docType, tenantId);
+                counter.setNextValue(parse(last) + 1);
+                counter.setWidth(widthFor(last));
+                documentCounterRepository.saveAndFlush(counter);
+            });
+        } catch (DataIntegrityViolationException ex) {
+            // Created concurrently.
+        }
+    }
+
+    private String lastRunningNumber(String docType, Long tenantId) {
+        if (STOCK_IN.equals(docType)) {
+            StockIn stockIn = stockInRepository.findFirstBytenantIdOrderByIdDesc(tenantId);
+            return stockIn != null ? stockIn.getRunningNumber() : null;
+        }
+        if (STOCK_OUT.equals(docType)) {
+            StockOut stockOut = stockOutRepository.findFirstBytenantIdOrderByIdDesc(tenantId);
+            return stockOut != null ? stockOut.getRunningNumber() : null;
+        }
+        return null;
+    }
+
+    static long parse(String runningNumber) {
+        if (runningNumber == null) {
+            return 0;
+        }
+        String raw = runningNumber.replaceAll("[^0-9]", "");
+        if (raw.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(raw);
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+
+    private static class Block {
+        private long next;
+        private long end;
+        private int width;
+    }
+}
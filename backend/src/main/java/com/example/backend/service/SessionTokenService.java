@@ -0,0 +1,159 @@
+package com.example.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import com.example.backend.dto.Session;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Issues and checks "<kid>.<claims>.<signature>" tokens: base64url JSON claims holding the
+// Session fields, signed with HMAC-SHA256. Checking needs only the keys in configuration and
+// the denylist, so any node can verify a token issued by any other.
+//
+// Keys are auth.token.keys.<kid>=<base64 secret of at least 32 bytes>. New tokens are signed
+// with auth.token.active-key; to rotate, add a new key, make it active, and remove the old one
+// once auth.token.ttl has passed.
+@Service
+public class SessionTokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final Map<String, SecretKeySpec> keys = new HashMap<>();
+    private final String activeKey;
+    private final Duration ttl;
+    private final TokenDenylist denylist;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    @Autowired
+    public SessionTokenService(Environment environment, TokenDenylist denylist, ObjectMapper objectMapper) {
+        this(Binder.get(environment).bind("auth.token.keys", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of()),
+            environment.getProperty("auth.token.active-key"),
+            environment.getProperty("auth.token.ttl", Duration.class, Duration.ofHours(12)),
+            denylist, objectMapper, Clock.systemUTC());
+    }
+
+    SessionTokenService(Map<String, String> secrets, String activeKey, Duration ttl, TokenDenylist denylist,
+            ObjectMapper objectMapper, Clock clock) {
+        secrets.forEach((kid, secret) -> {
+            byte[] bytes = Base64.getDecoder().decode(secret);
+            if (bytes.length < 32) {
+                throw new IllegalStateException("auth.token.keys." + kid + " must be at least 32 bytes");
+            }
+            keys.put(kid, new SecretKeySpec(bytes, ALGORITHM));
+        });
+        if (activeKey != null && !keys.containsKey(activeKey)) {
+            throw new IllegalStateException("auth.token.active-key " + activeKey + " is not in auth.token.keys");
+        }
+        this.activeKey = activeKey;
+        this.ttl = ttl;
+        this.denylist = denylist;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+    }
+
+    public boolean canIssue() {
+        return activeKey != null;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public String issue(Session session) {
+        if (activeKey == null) {
+            throw new IllegalStateException("No auth.token.active-key configured");
+        }
+        Instant now = clock.instant();
+        Claims claims = new Claims(session.getUserId(), session.getEmail(), session.getName(),
+            session.getCompanyName(), session.getTenantID(), session.getEmploymentStatus(),
+            UUID.randomUUID().toString(), now.plus(ttl).getEpochSecond());
+        try {
+            String signed = activeKey + "." + ENCODER.encodeToString(objectMapper.writeValueAsBytes(claims));
+            return signed + "." + ENCODER.encodeToString(sign(keys.get(activeKey), signed));
+        } catch (Exception ex) {
+            throw new IllegalStateException("Could not issue token", ex);
+        }
+    }
+
+    public Optional<Session> verify(String token) {
+        return parse(token).map(Claims::toSession);
+    }
+
+    // Denylists the token until it expires; invalid tokens are ignored.
+    public void revoke(String token) {
+        parse(token).ifPresent(claims -> denylist.revoke(claims.tokenId(), Instant.ofEpochSecond(claims.expiresAt())));
+    }
+
+    private Optional<Claims> parse(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int first = token.indexOf('.');
+        int last = token.lastIndexOf('.');
+        if (first <= 0 || last == first) {
+            return Optional.empty();
+        }
+        SecretKeySpec key = keys.get(token.substring(0, first));
+        if (key == null) {
+            return Optional.empty();
+        }
+        try {
+            byte[] expected = sign(key, token.substring(0, last));
+            if (!MessageDigest.isEqual(expected, DECODER.decode(token.substring(last + 1)))) {
+                return Optional.empty();
+            }
+            Claims claims = objectMapper.readValue(DECODER.decode(token.substring(first + 1, last)), Claims.class);
+            if (claims.expiresAt() <= clock.instant().getEpochSecond() || denylist.isRevoked(claims.tokenId())) {
+                return Optional.empty();
+            }
+            return Optional.of(claims);
+        } catch (Exception ex) {
+            return Optional.empty();
+        }
+    }
+
+    private static byte[] sign(SecretKeySpec key, String data) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance(ALGORITHM);
+        mac.init(key);
+        return mac.doFinal(data.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // Short property names keep the token small enough for a cookie.
+    record Claims(
+        @JsonProperty("uid") Long userId,
+        @JsonProperty("em") String email,
+        @JsonProperty("nm") String name,
+        @JsonProperty("co") String companyName,
+        @JsonProperty("tid") Long tenantID,
+        @JsonProperty("es") Integer employmentStatus,
+        @JsonProperty("jti") String tokenId,
+        @JsonProperty("exp") long expiresAt
+    ) {
+        Session toSession() {
+            return new Session(userId, email, name, companyName, tenantID, employmentStatus);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.backend.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.backend.dto.SkuRef;
+import com.example.backend.entity.ProductSku;
+import com.example.backend.repository.ProductSkuRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Bounded (tenant, skuCode) -> SKU lookup. Codes that do not exist are never cached, and
+// ProductSkuController invalidates entries on every write. That only reaches this node's
+// cache, so entries also expire, which bounds how long another node's rename or delete can go
+// unseen here; a finalize that hits a deleted id drops the entry at once.
+@Service
+public class SkuLookupCache {
+
+    private final ProductSkuRepository productSkuRepository;
+    private final Cache<SkuKey, SkuRef> cache;
+
+    public SkuLookupCache(
+        ProductSkuRepository productSkuRepository,
+        @Value("${sku-cache.maximum-size:50000}") long maximumSize,
+        @Value("${sku-cache.expire-after-write:5m}") Duration expireAfterWrite,
+        MeterRegistry meterRegistry
+    ) {
+        this.productSkuRepository = productSkuRepository;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "sku-lookup");
+    }
+
+    public SkuRef find(Long tenantId, String skuCode) {
+        return findAll(tenantId, Set.of(skuCode)).get(skuCode);
+    }
+
+    // Resolves many codes with at most one query for the ones not cached yet.
+    public Map<String, SkuRef> findAll(Long tenantId, Collection<String> skuCodes) {
+        Set<SkuKey> keys = new LinkedHashSet<>();
+        for (String skuCode : skuCodes) {
+            keys.add(new SkuKey(tenantId, skuCode));
+        }
+        Map<SkuKey, SkuRef> found = cache.getAll(keys, missing -> load(tenantId, missing));
+
+        Map<String, SkuRef> result = new HashMap<>();
+        for (Map.Entry<SkuKey, SkuRef> entry : found.entrySet()) {
+            result.put(entry.getKey().skuCode(), entry.getValue());
+        }
+        return result;
+    }
+
+    public void invalidate(Long tenantId, String skuCode) {
+        if (tenantId != null && skuCode != null) {
+            cache.invalidate(new SkuKey(tenantId, skuCode));
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private Map<SkuKey, SkuRef> load(Long tenantId, Set<? extends SkuKey> missing) {
+        Set<String> codes = new LinkedHashSet<>();
+        for (SkuKey key : missing) {
+            codes.add(key.skuCode());
+        }
+        Map<SkuKey, SkuRef> loaded = new HashMap<>();
+        // Lowest id wins when a tenant has duplicate codes, as findFirstBySkuCodeAndTenantID did.
+        for (ProductSku sku : productSkuRepository.findByTenantIDAndSkuCodeInOrderByIdAsc(tenantId, codes)) {
+            loaded.putIfAbsent(new SkuKey(tenantId, sku.getSkuCode()), new SkuRef(
+                sku.getId(),
+                sku.getTenantID(),
+                sku.getSkuCode(),
+                sku.getProductId(),
+                sku.getColour(),
+                sku.getSize(),
+                sku.getImage()
+            ));
+        }
+        return loaded;
+    }
+
+    record SkuKey(Long tenantId, String skuCode) {
+    }
+}
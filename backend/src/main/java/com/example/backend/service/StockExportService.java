@@ -0,0 +1,137 @@
+package com.example.backend.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.backend.dto.InventoryLevel;
+import com.example.backend.dto.StockLedgerEntry;
+import com.example.backend.dto.StockLedgerFilter;
+import com.example.backend.repository.ProductSkuRepository;
+import com.example.backend.repository.StockLedgerJdbcRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Writes exports row by row as the database cursor advances, so the heap holds one fetch
+// batch and one output buffer no matter how many rows there are.
+@Service
+public class StockExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String[] LEDGER_HEADER = { "type", "recordId", "runningNumber", "date", "productName",
+        "sku", "quantity", "createdById", "createdByName" };
+
+    private static final String[] INVENTORY_HEADER = { "skuId", "skuCode", "productId", "productName", "colour",
+        "size", "quantityAvailable" };
+
+    private final StockLedgerJdbcRepository stockLedgerJdbcRepository;
+    private final ProductSkuRepository productSkuRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnly;
+
+    public StockExportService(
+        StockLedgerJdbcRepository stockLedgerJdbcRepository,
+        ProductSkuRepository productSkuRepository,
+        ObjectMapper objectMapper,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.stockLedgerJdbcRepository = stockLedgerJdbcRepository;
+        this.productSkuRepository = productSkuRepository;
+        this.objectMapper = objectMapper;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    public void writeLedger(Long tenantId, StockLedgerFilter filter, ExportFormat format, boolean gzip,
+            OutputStream out) throws IOException {
+        write(out, format, gzip, LEDGER_HEADER,
+            consumer -> stockLedgerJdbcRepository.forEach(tenantId, filter, consumer),
+            (StockLedgerEntry entry) -> new Object[] { entry.getType(), entry.getRecordId(),
+                entry.getRunningNumber(), entry.getDate(), entry.getProductName(), entry.getSku(),
+                entry.getQuantity(), entry.getCreatedById(), entry.getCreatedByName() });
+    }
+
+    public void writeInventory(Long tenantId, ExportFormat format, boolean gzip, OutputStream out)
+            throws IOException {
+        write(out, format, gzip, INVENTORY_HEADER,
+            consumer -> productSkuRepository.forEachLevel(tenantId, consumer),
+            (InventoryLevel level) -> new Object[] { level.getSkuId(), level.getSkuCode(), level.getProductId(),
+                level.getProductName(), level.getColour(), level.getSize(), level.getQuantityAvailable() });
+    }
+
+    // Download headers for an export named "<baseName>.<ext>[.gz]".
+    public static HttpHeaders headers(String baseName, ExportFormat format, boolean gzip) {
+        HttpHeaders headers = new HttpHeaders();
+        String filename = baseName + "." + format.getExtension() + (gzip ? ".gz" : "");
+        headers.setContentType(gzip ? MediaType.parseMediaType("application/gzip") : format.getMediaType());
+        headers.setContentDisposition(ContentDisposition.attachment().filename(filename).build());
+        return headers;
+    }
+
+    private <T> void write(OutputStream out, ExportFormat format, boolean gzip, String[] header,
+            Consumer<Consumer<T>> source, Function<T, Object[]> columns) throws IOException {
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+        Writer writer = new BufferedWriter(
+            new OutputStreamWriter(compressed != null ? compressed : out, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        if (format == ExportFormat.CSV) {
+            writeCsvLine(writer, header);
+        }
+        try {
+            readOnly.executeWithoutResult(status -> source.accept(row -> {
+                try {
+                    if (format == ExportFormat.CSV) {
+                        writeCsvLine(writer, columns.apply(row));
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(row));
+                        writer.write('\n');
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }));
+        } catch (UncheckedIOException ex) {
+            // Usually the client went away; the cursor and transaction are already closed.
+            throw ex.getCause();
+        }
+
+        writer.flush();
+        if (compressed != null) {
+            compressed.finish();
+        }
+    }
+
+    private static void writeCsvLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values[i];
+            if (value != null) {
+                writer.write(csvField(value.toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.backend.service;
+
+import java.util.List;
+
+import com.example.backend.dto.StockShortage;
+
+public class StockFinalizeException extends RuntimeException {
+
+    private final List<StockShortage> shortages;
+
+    public StockFinalizeException(String message, List<StockShortage> shortages) {
+        super(message);
+        this.shortages = shortages;
+    }
+
+    public List<StockShortage> getShortages() {
+        return shortages;
+    }
+}
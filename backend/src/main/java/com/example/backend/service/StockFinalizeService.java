@@ -0,0 +1,213 @@
+package com.example.backend.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.backend.dto.SkuQuantity;
+import com.example.backend.dto.SkuRef;
+import com.example.backend.dto.StockLevelEvent;
+import com.example.backend.dto.StockShortage;
+import com.example.backend.entity.StockIn;
+import com.example.backend.entity.StockOut;
+import com.example.backend.repository.ProductSkuRepository;
+import com.example.backend.repository.StockAlertJdbcRepository;
+import com.example.backend.repository.StockInDetailRepository;
+import com.example.backend.repository.StockInRepository;
+import com.example.backend.repository.StockLedgerJdbcRepository;
+import com.example.backend.repository.StockOutDetailRepository;
+import com.example.backend.repository.StockOutRepository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@Service
+public class StockFinalizeService {
+
+    private final StockInRepository stockInRepository;
+    private final StockInDetailRepository stockInDetailRepository;
+    private final StockOutRepository stockOutRepository;
+    private final StockOutDetailRepository stockOutDetailRepository;
+    private final ProductSkuRepository productSkuRepository;
+    private final StockLedgerJdbcRepository stockLedgerJdbcRepository;
+    private final StockAlertJdbcRepository stockAlertJdbcRepository;
+    private final SkuLookupCache skuLookupCache;
+    private final MeterRegistry meterRegistry;
+    private final StockLevelFeed stockLevelFeed;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public StockFinalizeService(
+        StockInRepository stockInRepository,
+        StockInDetailRepository stockInDetailRepository,
+        StockOutRepository stockOutRepository,
+        StockOutDetailRepository stockOutDetailRepository,
+        ProductSkuRepository productSkuRepository,
+        StockLedgerJdbcRepository stockLedgerJdbcRepository,
+        StockAlertJdbcRepository stockAlertJdbcRepository,
+        SkuLookupCache skuLookupCache,
+        MeterRegistry meterRegistry,
+        StockLevelFeed stockLevelFeed,
+        ApplicationEventPublisher eventPublisher
+    ) {
+        this.stockInRepository = stockInRepository;
+        this.stockInDetailRepository = stockInDetailRepository;
+        this.stockOutRepository = stockOutRepository;
+        this.stockOutDetailRepository = stockOutDetailRepository;
+        this.productSkuRepository = productSkuRepository;
+        this.stockLedgerJdbcRepository = stockLedgerJdbcRepository;
+        this.stockAlertJdbcRepository = stockAlertJdbcRepository;
+        this.skuLookupCache = skuLookupCache;
+        this.meterRegistry = meterRegistry;
+        this.stockLevelFeed = stockLevelFeed;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public StockIn finalizeStockIn(Long id) {
+        AtomicInteger lines = timeTransaction("in");
+        StockIn existing = stockInRepository.findForUpdate(id)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Stock in not found"));
+        if (existing.isFinalized()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Stock in already finalized");
+        }
+
+        Collection<Long> skuIds = applyQuantities(existing.getTenantId(), stockInDetailRepository.sumQuantityBySku(id), 1);
+        lines.set(stockLedgerJdbcRepository.appendStockIn(id));
+        publishLevels(existing.getTenantId(), "IN", id, existing.getRunningNumber(), skuIds);
+        existing.setFinalized(true);
+        return stockInRepository.save(existing);
+    }
+
+    @Transactional
+    public StockOut finalizeStockOut(Long id) {
+        AtomicInteger lines = timeTransaction("out");
+        StockOut existing = stockOutRepository.findForUpdate(id)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Stock out not found"));
+        if (existing.isFinalized()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Stock out already finalized");
+        }
+
+        Collection<Long> skuIds = applyQuantities(existing.getTenantId(), stockOutDetailRepository.sumQuantityBySku(id), -1);
+        // Only the SKUs this document took stock from can have dropped below their threshold.
+        stockAlertJdbcRepository.recordStockOutCrossings(id, skuIds);
+        lines.set(stockLedgerJdbcRepository.appendStockOut(id));
+        publishLevels(existing.getTenantId(), "OUT", id, existing.getRunningNumber(), skuIds);
+        existing.setFinalized(true);
+        return stockOutRepository.save(existing);
+    }
+
+    // Times the finalize up to the end of its transaction, commit included, as stock.finalize
+    // tagged with how it ended; committed documents also record their line count, which is
+    // the number of ledger rows the finalize copied.
+    private AtomicInteger timeTransaction(String type) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        AtomicInteger lines = new AtomicInteger();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                boolean committed = status == STATUS_COMMITTED;
+                sample.stop(Timer.builder("stock.finalize")
+                    .description("Stock document finalize, commit included")
+                    .tag("type", type)
+                    .tag("outcome", committed ? "committed" : "rolled_back")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+                if (committed) {
+                    DistributionSummary.builder("stock.finalize.lines")
+                        .description("Lines per finalized stock document")
+                        .baseUnit("lines")
+                        .tag("type", type)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)
+                        .record(lines.get());
+                }
+            }
+        });
+        return lines;
+    }
+
+    // The new levels are read back only when the tenant has feed subscribers; StockLevelFeed
+    // pushes the event once the transaction commits and drops it on rollback.
+    private void publishLevels(Long tenantId, String type, Long documentId, String runningNumber,
+            Collection<Long> skuIds) {
+        if (skuIds.isEmpty() || !stockLevelFeed.hasSubscribers(tenantId)) {
+            return;
+        }
+        eventPublisher.publishEvent(new StockLevelEvent(tenantId, type, documentId, runningNumber,
+            productSkuRepository.findLevels(skuIds)));
+    }
+
+    // Resolves the codes through the SKU cache and applies every per-SKU total with a conditional
+    // UPDATE batch, so concurrent finalizes never lose an update. Any unknown code or
+    // refused decrement rolls the whole document back. Returns the ids of the adjusted SKUs.
+    private Collection<Long> applyQuantities(Long tenantId, List<SkuQuantity> totals, int sign) {
+        if (totals.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Long> requested = new HashMap<>();
+        for (SkuQuantity total : totals) {
+            requested.put(total.getSku(), total.getQuantity());
+        }
+
+        Map<String, SkuRef> skus = skuLookupCache.findAll(tenantId, requested.keySet());
+
+        // A SKU's lines must add up to a positive quantity that fits quantity_available.
+        List<StockShortage> invalid = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : requested.entrySet()) {
+            if (entry.getValue() < 1 || entry.getValue() > Integer.MAX_VALUE) {
+                invalid.add(new StockShortage(entry.getKey(), entry.getValue(), null));
+            }
+        }
+        if (!invalid.isEmpty()) {
+            throw new StockFinalizeException("Invalid quantity", invalid);
+        }
+
+        List<StockShortage> missing = new ArrayList<>();
+        Map<Long, Integer> deltas = new HashMap<>();
+        for (Map.Entry<String, Long> entry : requested.entrySet()) {
+            SkuRef sku = skus.get(entry.getKey());
+            if (sku == null) {
+                missing.add(new StockShortage(entry.getKey(), entry.getValue(), null));
+            } else {
+                deltas.put(sku.getId(), sign * entry.getValue().intValue());
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new StockFinalizeException("Unknown SKU", missing);
+        }
+
+        List<Long> refused = productSkuRepository.adjustQuantities(tenantId, deltas);
+        if (!refused.isEmpty()) {
+            Map<String, Integer> available = new HashMap<>();
+            for (SkuQuantity current : productSkuRepository.findQuantities(refused)) {
+                available.put(current.getSku(), current.getQuantity().intValue());
+            }
+            List<StockShortage> shortages = new ArrayList<>();
+            for (SkuRef sku : skus.values()) {
+                if (refused.contains(sku.getId())) {
+                    // A refused id that no longer exists was deleted after it was cached.
+                    if (!available.containsKey(sku.getSkuCode())) {
+                        skuLookupCache.invalidate(tenantId, sku.getSkuCode());
+                    }
+                    shortages.add(new StockShortage(sku.getSkuCode(), requested.get(sku.getSkuCode()),
+                        available.get(sku.getSkuCode())));
+                }
+            }
+            // A refused increment would have overflowed quantity_available.
+            throw new StockFinalizeException(sign < 0 ? "Insufficient stock" : "Quantity out of range", shortages);
+        }
+        return deltas.keySet();
+    }
+}
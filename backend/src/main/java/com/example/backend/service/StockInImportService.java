@@ -0,0 +1,219 @@
+package com.example.backend.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.backend.dto.SkuRef;
+import com.example.backend.dto.StockImportReport;
+import com.example.backend.dto.StockImportRowError;
+import com.example.backend.entity.Product;
+import com.example.backend.entity.StockIn;
+import com.example.backend.entity.StockInDetail;
+import com.example.backend.repository.ProductRepository;
+import com.example.backend.repository.StockInDetailRepository;
+import com.example.backend.repository.StockInRepository;
+
+// Imports stock-in lines from a "sku,quantity[,productName]" CSV. The file is read line by
+// line and handled in fixed-size chunks: each chunk costs one SKU lookup, one product name
+// lookup and one insert batch, so memory does not grow with the file. Bad rows are reported
+// and skipped; the valid ones are imported.
+@Service
+public class StockInImportService {
+
+    private final StockInRepository stockInRepository;
+    private final StockInDetailRepository stockInDetailRepository;
+    private final ProductRepository productRepository;
+    private final SkuLookupCache skuLookupCache;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public StockInImportService(
+        StockInRepository stockInRepository,
+        StockInDetailRepository stockInDetailRepository,
+        ProductRepository productRepository,
+        SkuLookupCache skuLookupCache,
+        @Value("${stock-import.chunk-size:500}") int chunkSize,
+        @Value("${stock-import.max-reported-errors:1000}") int maxReportedErrors
+    ) {
+        this.stockInRepository = stockInRepository;
+        this.stockInDetailRepository = stockInDetailRepository;
+        this.productRepository = productRepository;
+        this.skuLookupCache = skuLookupCache;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @Transactional
+    public StockImportReport importCsv(Long stockInId, InputStream input) throws IOException {
+        // Holding the header lock keeps a concurrent finalize from missing imported lines.
+        StockIn stockIn = stockInRepository.findForUpdate(stockInId)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Stock in not found"));
+        if (stockIn.isFinalized()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Stock in already finalized");
+        }
+
+        Progress progress = new Progress();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+                line = line.substring(1);
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> fields = splitCsv(line);
+            if (lineNumber == 1 && "sku".equalsIgnoreCase(fields.get(0).trim())) {
+                continue;
+            }
+            Row row = parseRow(lineNumber, fields, progress);
+            if (row != null) {
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    importChunk(stockIn, chunk, progress);
+                    chunk.clear();
+                }
+            }
+        }
+        importChunk(stockIn, chunk, progress);
+
+        return new StockImportReport(progress.imported, progress.rejected, progress.errors,
+            progress.rejected > progress.errors.size());
+    }
+
+    private Row parseRow(long lineNumber, List<String> fields, Progress progress) {
+        String sku = fields.get(0).trim();
+        if (fields.size() < 2 || fields.size() > 3) {
+            progress.reject(lineNumber, sku, "Expected sku,quantity[,productName]");
+            return null;
+        }
+        if (sku.isEmpty()) {
+            progress.reject(lineNumber, null, "SKU is required");
+            return null;
+        }
+        int quantity;
+        try {
+            quantity = Integer.parseInt(fields.get(1).trim());
+        } catch (NumberFormatException ex) {
+            progress.reject(lineNumber, sku, "Quantity must be a whole number");
+            return null;
+        }
+        if (quantity <= 0) {
+            progress.reject(lineNumber, sku, "Quantity must be positive");
+            return null;
+        }
+        String productName = fields.size() == 3 ? fields.get(2).trim() : "";
+        return new Row(lineNumber, sku, quantity, productName);
+    }
+
+    private void importChunk(StockIn stockIn, List<Row> chunk, Progress progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Set<String> codes = new HashSet<>();
+        for (Row row : chunk) {
+            codes.add(row.sku());
+        }
+        Map<String, SkuRef> skus = skuLookupCache.findAll(stockIn.getTenantId(), codes);
+
+        Set<Long> productIds = new HashSet<>();
+        for (Row row : chunk) {
+            SkuRef sku = skus.get(row.sku());
+            if (sku != null && row.productName().isEmpty() && sku.getProductId() != null) {
+                productIds.add(sku.getProductId());
+            }
+        }
+        Map<Long, String> productNames = new HashMap<>();
+        if (!productIds.isEmpty()) {
+            for (Product product : productRepository.findAllById(productIds)) {
+                productNames.put(product.getId(), product.getProductName());
+            }
+        }
+
+        List<StockInDetail> details = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            SkuRef sku = skus.get(row.sku());
+            if (sku == null) {
+                progress.reject(row.line(), row.sku(), "Unknown SKU");
+                continue;
+            }
+            String productName = row.productName().isEmpty()
+                ? productNames.get(sku.getProductId())
+                : row.productName();
+            if (productName == null) {
+                progress.reject(row.line(), row.sku(), "Product name is required");
+                continue;
+            }
+            StockInDetail detail = new StockInDetail();
+            detail.setProductName(productName);
+            detail.setSku(sku.getSkuCode());
+            detail.setQuantity(row.quantity());
+            details.add(detail);
+        }
+        stockInDetailRepository.insertAll(stockIn.getId(), details);
+        progress.imported += details.size();
+    }
+
+    // Splits one CSV line; fields may be double-quoted with "" as an escaped quote.
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private record Row(long line, String sku, int quantity, String productName) {
+    }
+
+    private class Progress {
+        private long imported;
+        private long rejected;
+        private final List<StockImportRowError> errors = new ArrayList<>();
+
+        private void reject(long line, String sku, String message) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new StockImportRowError(line, sku, message));
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.backend.repository.StockLedgerJdbcRepository;
+
+// One-off population of stock_ledger from documents finalized before the table existed.
+// Start once with ledger.backfill.enabled=true; lines already present are skipped.
+@Component
+@ConditionalOnProperty(name = "ledger.backfill.enabled", havingValue = "true")
+public class StockLedgerBackfill implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(StockLedgerBackfill.class);
+
+    private final StockLedgerJdbcRepository stockLedgerJdbcRepository;
+
+    public StockLedgerBackfill(StockLedgerJdbcRepository stockLedgerJdbcRepository) {
+        this.stockLedgerJdbcRepository = stockLedgerJdbcRepository;
+    }
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        int in = stockLedgerJdbcRepository.backfill("IN");
+        int out = stockLedgerJdbcRepository.backfill("OUT");
+        log.info("Stock ledger backfill copied {} stock-in and {} stock-out lines", in, out);
+    }
+}
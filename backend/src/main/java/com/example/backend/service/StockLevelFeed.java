@@ -0,0 +1,313 @@
+package com.example.backend.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.backend.dto.StockLevelEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+// Per-tenant Server-Sent Events feed of stock levels. A committed finalize serializes its event
+// once and only queues it for each subscriber, so the committing thread never waits on a
+// socket; a few sender threads drain the queues. A subscriber whose queue fills up is too slow
+// and is disconnected (EventSource reconnects on its own). A send that blocks longer than the
+// send timeout also disconnects its subscriber, and the sender pool gets a thread in place of
+// the blocked one until the container's write timeout frees it, so stalled clients cannot
+// hold up the others. Heartbeats keep proxies from closing quiet connections and find the
+// dead ones.
+@Service
+public class StockLevelFeed {
+
+    static final String EVENT_NAME = "stock-levels";
+
+    private static final int IDLE = 0;
+    private static final int SENDING = 1;
+    private static final int STALLED = 2;
+
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+
+    private final ConcurrentMap<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Set<Subscriber> sending = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicInteger stalledSenders = new AtomicInteger();
+    private final int maxSubscribers;
+    private final int bufferSize;
+    private final int senderThreads;
+    private final int maxStalledSenders;
+    private final long sendTimeoutNanos;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor sender;
+    private final ScheduledExecutorService heartbeat;
+    private final Counter evictions;
+
+    public StockLevelFeed(
+        @Value("${stock-feed.max-subscribers:10000}") int maxSubscribers,
+        @Value("${stock-feed.buffer-size:32}") int bufferSize,
+        @Value("${stock-feed.sender-threads:4}") int senderThreads,
+        @Value("${stock-feed.send-timeout:10s}") Duration sendTimeout,
+        @Value("${stock-feed.max-stalled-senders:64}") int maxStalledSenders,
+        @Value("${stock-feed.timeout:30m}") Duration timeout,
+        @Value("${stock-feed.heartbeat:30s}") Duration heartbeatInterval,
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry
+    ) {
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = bufferSize;
+        this.senderThreads = senderThreads;
+        this.maxStalledSenders = maxStalledSenders;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.timeout = timeout;
+        this.objectMapper = objectMapper;
+        AtomicInteger threads = new AtomicInteger();
+        // Each subscriber has at most one drain task queued, so the queue is bounded by maxSubscribers.
+        this.sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            task -> {
+                Thread thread = new Thread(task, "stock-feed-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "stock-feed-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = heartbeatInterval.toMillis();
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, interval, interval, TimeUnit.MILLISECONDS);
+        long check = Math.max(10, sendTimeout.toMillis() / 2);
+        heartbeat.scheduleAtFixedRate(this::evictStalledSenders, check, check, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("stock.feed.subscribers", subscriberCount, AtomicInteger::get)
+            .description("Open stock level feed connections")
+            .register(meterRegistry);
+        Gauge.builder("stock.feed.stalled-senders", stalledSenders, AtomicInteger::get)
+            .description("Sender threads blocked in a write past the send timeout")
+            .register(meterRegistry);
+        this.evictions = Counter.builder("stock.feed.evictions")
+            .description("Stock level feed subscribers disconnected for falling behind")
+            .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long tenantId) {
+        return subscribe(tenantId, new SseEmitter(timeout.toMillis()));
+    }
+
+    SseEmitter subscribe(Long tenantId, SseEmitter emitter) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many stock feed subscribers");
+        }
+        Subscriber subscriber = new Subscriber(tenantId, emitter);
+        subscribers.compute(tenantId, (key, set) -> {
+            Set<Subscriber> result = set != null ? set : ConcurrentHashMap.newKeySet();
+            result.add(subscriber);
+            return result;
+        });
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        // Sends the response headers now, so the client sees the stream open.
+        subscriber.offer(SseEmitter.event().comment("connected").build());
+        return emitter;
+    }
+
+    // Lets a finalize skip reading back new levels when nobody is listening.
+    public boolean hasSubscribers(Long tenantId) {
+        return subscribers.containsKey(tenantId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onStockLevels(StockLevelEvent event) {
+        Set<Subscriber> targets = subscribers.get(event.getTenantId());
+        if (targets == null) {
+            return;
+        }
+        Set<DataWithMediaType> frame;
+        try {
+            frame = SseEmitter.event()
+                .name(EVENT_NAME)
+                .id(event.getType() + "-" + event.getDocumentId())
+                .data(objectMapper.writeValueAsString(event))
+                .build();
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+        for (Subscriber subscriber : targets) {
+            subscriber.offer(frame);
+        }
+    }
+
+    int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    int senderPoolSize() {
+        return sender.getMaximumPoolSize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeat.shutdownNow();
+        sender.shutdownNow();
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    private void sendHeartbeats() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.offer(HEARTBEAT)));
+    }
+
+    private void evictStalledSenders() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : sending) {
+            subscriber.evictIfStalled(now);
+        }
+    }
+
+    // One extra sender thread per blocked write, up to maxStalledSenders.
+    private synchronized void resizeSender(int stalledDelta) {
+        int size = senderThreads + Math.min(stalledSenders.addAndGet(stalledDelta), maxStalledSenders);
+        if (size > sender.getMaximumPoolSize()) {
+            sender.setMaximumPoolSize(size);
+            sender.setCorePoolSize(size);
+        } else {
+            sender.setCorePoolSize(size);
+            sender.setMaximumPoolSize(size);
+        }
+    }
+
+    private final class Subscriber {
+        private final Long tenantId;
+        private final SseEmitter emitter;
+        private final Queue<Set<DataWithMediaType>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean evicted = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        // The watchdog and the drain task hand a blocked send over through this state, so the
+        // pool grows and shrinks by exactly one for it.
+        private final AtomicInteger sendState = new AtomicInteger(IDLE);
+        private volatile long sendStarted;
+
+        Subscriber(Long tenantId, SseEmitter emitter) {
+            this.tenantId = tenantId;
+            this.emitter = emitter;
+        }
+
+        void offer(Set<DataWithMediaType> frame) {
+            if (closed.get()) {
+                return;
+            }
+            if (queued.incrementAndGet() > bufferSize) {
+                evict();
+                return;
+            }
+            pending.add(frame);
+            scheduleDrain();
+        }
+
+        void evictIfStalled(long now) {
+            if (sendState.get() == SENDING && now - sendStarted > sendTimeoutNanos
+                    && sendState.compareAndSet(SENDING, STALLED)) {
+                evict();
+                resizeSender(1);
+            }
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<DataWithMediaType> frame;
+                while (!closed.get() && (frame = pending.poll()) != null) {
+                    queued.decrementAndGet();
+                    sendStarted = System.nanoTime();
+                    sendState.set(SENDING);
+                    sending.add(this);
+                    try {
+                        emitter.send(frame);
+                    } finally {
+                        sending.remove(this);
+                        if (sendState.getAndSet(IDLE) == STALLED) {
+                            resizeSender(-1);
+                        }
+                    }
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // The client went away or the emitter already completed.
+                close();
+            } finally {
+                draining.set(false);
+            }
+            if (evicted.get()) {
+                completeIfIdle();
+            } else if (!closed.get() && !pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void evict() {
+            if (evicted.compareAndSet(false, true)) {
+                evictions.increment();
+                close();
+                completeIfIdle();
+            }
+        }
+
+        // Completing waits for a send in progress, so a subscriber evicted mid-send is completed
+        // by its own drain task once the send returns, never by a thread of the shared pool.
+        private void completeIfIdle() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    if (completed.compareAndSet(false, true)) {
+                        emitter.complete();
+                    }
+                } finally {
+                    draining.set(false);
+                }
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscriberCount.decrementAndGet();
+                pending.clear();
+                subscribers.computeIfPresent(tenantId, (key, set) -> {
+                    set.remove(this);
+                    return set.isEmpty() ? null : set;
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.backend.service;
+
+import java.time.Instant;
+
+// Revoked token ids, each kept only until its token would have expired anyway. The default is
+// InMemoryTokenDenylist; define another TokenDenylist bean to share revocations between nodes.
+public interface TokenDenylist {
+
+    void revoke(String tokenId, Instant expiresAt);
+
+    boolean isRevoked(String tokenId);
+}
@@ -0,0 +1,66 @@
+package com.example.backend.service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.backend.dto.DirectoryEntry;
+import com.example.backend.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Per-tenant id -> name lookup, loaded with one query per tenant and bounded by the total number
+// of users held. AuthController invalidates a tenant whenever one of its users is registered or
+// changed; the expiry only limits how stale another node's copy can get.
+@Service
+public class UserDirectory {
+
+    private final UserRepository userRepository;
+    private final LoadingCache<Long, Map<Long, DirectoryEntry>> tenants;
+
+    public UserDirectory(
+        UserRepository userRepository,
+        @Value("${user-directory.maximum-users:100000}") long maximumUsers,
+        @Value("${user-directory.expire-after-write:10m}") Duration expireAfterWrite,
+        MeterRegistry meterRegistry
+    ) {
+        this.userRepository = userRepository;
+        this.tenants = Caffeine.newBuilder()
+            .maximumWeight(maximumUsers)
+            .weigher((Long tenantId, Map<Long, DirectoryEntry> users) -> Math.max(1, users.size()))
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, tenants, "user-directory");
+    }
+
+    public Map<Long, DirectoryEntry> forTenant(Long tenantId) {
+        return tenantId == null ? Map.of() : tenants.get(tenantId);
+    }
+
+    // Null for unknown ids and for users of another tenant.
+    public String name(Long tenantId, Long userId) {
+        DirectoryEntry entry = userId == null ? null : forTenant(tenantId).get(userId);
+        return entry != null ? entry.getName() : null;
+    }
+
+    public void invalidate(Long tenantId) {
+        if (tenantId != null) {
+            tenants.invalidate(tenantId);
+        }
+    }
+
+    private Map<Long, DirectoryEntry> load(Long tenantId) {
+        Map<Long, DirectoryEntry> users = new HashMap<>();
+        for (DirectoryEntry entry : userRepository.findDirectoryByTenantID(tenantId)) {
+            users.put(entry.getId(), entry);
+        }
+        return Map.copyOf(users);
+    }
+}
@@ -0,0 +1,114 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update). IF NOT EXISTS lets this run
+-- against databases that Hibernate already created; missing tables are added, others untouched.
+
+CREATE TABLE IF NOT EXISTS company_detail (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    company_name varchar(255) NOT NULL,
+    address varchar(255),
+    phone_numbe_string varchar(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    email varchar(255) NOT NULL UNIQUE,
+    password varchar(255) NOT NULL,
+    name varchar(255) NOT NULL,
+    company_name varchar(255) NOT NULL,
+    employment_status integer,
+    is_deleted boolean NOT NULL,
+    tenantid bigint,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS products (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    product_name varchar(255) NOT NULL,
+    description varchar(2000),
+    created_by bigint,
+    tenantid bigint NOT NULL,
+    product_image varchar(2000),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS product_skus (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    sku_code varchar(255) NOT NULL,
+    colour varchar(255),
+    size varchar(255),
+    quantity_available integer NOT NULL,
+    image varchar(2000),
+    tenantid bigint NOT NULL,
+    product_id bigint NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_product_skus_product FOREIGN KEY (product_id) REFERENCES products (id)
+);
+
+CREATE TABLE IF NOT EXISTS stock_in (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    running_number varchar(255),
+    description varchar(2000),
+    stock_date timestamp(6) NOT NULL,
+    created_by bigint,
+    tenant_id bigint NOT NULL,
+    finalized boolean NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS stock_in_details (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    product_name varchar(255) NOT NULL,
+    sku varchar(255),
+    quantity integer NOT NULL,
+    stock_in_id bigint NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_stock_in_details_stock_in FOREIGN KEY (stock_in_id) REFERENCES stock_in (id)
+);
+
+CREATE TABLE IF NOT EXISTS stock_out (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    running_number varchar(255),
+    description varchar(2000),
+    stock_date timestamp(6) NOT NULL,
+    created_by bigint,
+    tenant_id bigint NOT NULL,
+    finalized boolean NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS stock_out_details (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    product_name varchar(255) NOT NULL,
+    sku varchar(255),
+    quantity integer NOT NULL,
+    stock_out_id bigint NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_stock_out_details_stock_out FOREIGN KEY (stock_out_id) REFERENCES stock_out (id)
+);
+
+CREATE TABLE IF NOT EXISTS stock_ledger (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    tenant_id bigint NOT NULL,
+    type varchar(3) NOT NULL,
+    record_id bigint NOT NULL,
+    detail_id bigint NOT NULL,
+    running_number varchar(255),
+    stock_date timestamp(6) NOT NULL,
+    product_id bigint,
+    product_name varchar(255) NOT NULL,
+    sku varchar(255),
+    quantity integer NOT NULL,
+    created_by_id bigint,
+    created_by_name varchar(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_stock_ledger_type_detail UNIQUE (type, detail_id)
+);
+
+CREATE TABLE IF NOT EXISTS document_counters (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    tenant_id bigint NOT NULL,
+    doc_type varchar(8) NOT NULL,
+    next_value bigint NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_document_counters_tenant_type UNIQUE (tenant_id, doc_type)
+);
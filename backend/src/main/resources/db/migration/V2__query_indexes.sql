@@ -0,0 +1,21 @@
+-- Indexes for the access paths the repositories actually use.
+
+-- SKU resolution by code (finalize, SKU cache) and the tenant catalog list
+CREATE INDEX IF NOT EXISTS idx_product_skus_tenant_code ON product_skus (tenantid, sku_code);
+-- findByProduct_Id and the product foreign key
+CREATE INDEX IF NOT EXISTS idx_product_skus_product ON product_skus (product_id);
+
+-- findBytenantId and findFirstBytenantIdOrderByIdDesc
+CREATE INDEX IF NOT EXISTS idx_stock_in_tenant_id ON stock_in (tenant_id, id);
+CREATE INDEX IF NOT EXISTS idx_stock_out_tenant_id ON stock_out (tenant_id, id);
+
+-- Detail lines of one document, and the foreign keys
+CREATE INDEX IF NOT EXISTS idx_stock_in_details_stock_in ON stock_in_details (stock_in_id);
+CREATE INDEX IF NOT EXISTS idx_stock_out_details_stock_out ON stock_out_details (stock_out_id);
+
+CREATE INDEX IF NOT EXISTS idx_products_tenant ON products (tenantid);
+CREATE INDEX IF NOT EXISTS idx_users_tenant ON users (tenantid);
+
+-- Ledger pages: newest first per tenant, optionally for one SKU
+CREATE INDEX IF NOT EXISTS idx_stock_ledger_tenant_date ON stock_ledger (tenant_id, stock_date, id);
+CREATE INDEX IF NOT EXISTS idx_stock_ledger_tenant_sku_date ON stock_ledger (tenant_id, sku, stock_date, id);
@@ -0,0 +1,21 @@
+-- Reorder point per SKU; NULL means the SKU is not watched.
+ALTER TABLE product_skus ADD COLUMN IF NOT EXISTS reorder_threshold integer;
+
+-- One row each time a finalized stock-out takes a SKU from at or above its reorder point to
+-- below it.
+CREATE TABLE IF NOT EXISTS stock_alerts (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    tenant_id bigint NOT NULL,
+    sku_id bigint NOT NULL,
+    sku_code varchar(255) NOT NULL,
+    reorder_threshold integer NOT NULL,
+    quantity_before integer NOT NULL,
+    quantity_after integer NOT NULL,
+    record_id bigint NOT NULL,
+    running_number varchar(255),
+    created_at timestamp(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Alert pages: newest first per tenant
+CREATE INDEX IF NOT EXISTS idx_stock_alerts_tenant_id ON stock_alerts (tenant_id, id);
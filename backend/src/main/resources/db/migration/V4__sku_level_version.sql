@@ -0,0 +1,3 @@
+-- Bumped by every finalize that changes quantity_available. Row locks order concurrent
+-- finalizes of a SKU, so a higher version is always the later level.
+ALTER TABLE product_skus ADD COLUMN IF NOT EXISTS level_version bigint NOT NULL DEFAULT 0;
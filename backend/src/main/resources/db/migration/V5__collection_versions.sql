@@ -0,0 +1,8 @@
+-- Version of each tenant's polled list, shared by every node. Writers bump it after their
+-- change commits and list endpoints use it as their ETag.
+CREATE TABLE IF NOT EXISTS collection_versions (
+    tenant_id bigint NOT NULL,
+    kind varchar(32) NOT NULL,
+    version bigint NOT NULL,
+    PRIMARY KEY (tenant_id, kind)
+);
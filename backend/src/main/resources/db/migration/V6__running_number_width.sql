@@ -0,0 +1,24 @@
+-- Running numbers are zero-padded to at least six digits so a tenant's numbers sort as
+-- strings. Each counter keeps the width its tenant's numbers are issued at.
+ALTER TABLE document_counters ADD COLUMN IF NOT EXISTS width integer NOT NULL DEFAULT 6;
+
+-- Numbers issued at the old three-digit default (SI999 sorting before SI1000) are widened
+-- in place, together with the ledger and alert rows that copied them. Numbers in any other
+-- shape are left alone.
+UPDATE stock_in SET running_number = 'SI' || LPAD(SUBSTRING(running_number FROM 3), 6, '0')
+WHERE running_number LIKE 'SI%' AND LENGTH(running_number) BETWEEN 3 AND 7
+    AND LTRIM(SUBSTRING(running_number FROM 3), '0123456789') = '';
+
+UPDATE stock_out SET running_number = 'SO' || LPAD(SUBSTRING(running_number FROM 3), 6, '0')
+WHERE running_number LIKE 'SO%' AND LENGTH(running_number) BETWEEN 3 AND 7
+    AND LTRIM(SUBSTRING(running_number FROM 3), '0123456789') = '';
+
+UPDATE stock_ledger SET running_number = SUBSTRING(running_number FROM 1 FOR 2)
+        || LPAD(SUBSTRING(running_number FROM 3), 6, '0')
+WHERE (running_number LIKE 'SI%' OR running_number LIKE 'SO%') AND LENGTH(running_number) BETWEEN 3 AND 7
+    AND LTRIM(SUBSTRING(running_number FROM 3), '0123456789') = '';
+
+UPDATE stock_alerts SET running_number = SUBSTRING(running_number FROM 1 FOR 2)
+        || LPAD(SUBSTRING(running_number FROM 3), 6, '0')
+WHERE (running_number LIKE 'SI%' OR running_number LIKE 'SO%') AND LENGTH(running_number) BETWEEN 3 AND 7
+    AND LTRIM(SUBSTRING(running_number FROM 3), '0123456789') = '';
@@ -2,8 +2,12 @@ package backend;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
-@SpringBootTest
+import com.example.backend.BackendApplication;
+
+@SpringBootTest(classes = BackendApplication.class)
+@ActiveProfiles("test")
 class BackendApplicationTests {
 
 	@Test
@@ -0,0 +1,138 @@
+package com.example.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.backend.entity.Product;
+import com.example.backend.entity.ProductSku;
+import com.example.backend.entity.StockIn;
+import com.example.backend.entity.StockInDetail;
+import com.example.backend.repository.ProductRepository;
+import com.example.backend.repository.ProductSkuRepository;
+import com.example.backend.repository.StockInRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CatalogCacheTest {
+
+    private static final long TENANT = 4801L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSkuRepository productSkuRepository;
+
+    @Autowired
+    private StockInRepository stockInRepository;
+
+    @Autowired
+    private CacheManager catalogCacheManager;
+
+    @Test
+    void repeatedCatalogReadsSkipTheDatabase() throws Exception {
+        saveSku("CAT-1");
+
+        QueryBudget.atMost(2, "cold catalog reads", this::readCatalog);
+        assertEquals(0, QueryBudget.atMost(0, "warm catalog reads", this::readCatalog));
+    }
+
+    @Test
+    void finalizedQuantitiesAreNeverServedStale() throws Exception {
+        saveSku("CAT-2");
+        mockMvc.perform(get("/api/product-skus/tenant/{id}", TENANT))
+            .andExpect(jsonPath("$[?(@.skuCode == 'CAT-2')].quantityAvailable").value(0));
+
+        StockIn stockIn = new StockIn();
+        stockIn.setTenantId(TENANT);
+        stockIn.setDate(LocalDateTime.now());
+        stockIn.setRunningNumber("SI-CAT");
+        StockInDetail detail = new StockInDetail();
+        detail.setProductName("Catalog product");
+        detail.setSku("CAT-2");
+        detail.setQuantity(7);
+        detail.setStockIn(stockIn);
+        stockIn.getDetails().add(detail);
+        Long id = stockInRepository.save(stockIn).getId();
+        mockMvc.perform(post("/api/stock-in/{id}/finalize", id)).andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/product-skus/tenant/{id}", TENANT))
+            .andExpect(jsonPath("$[?(@.skuCode == 'CAT-2')].quantityAvailable").value(7));
+    }
+
+    @Test
+    void perProductListsNeverTakeRoomFromTenantLists() throws Exception {
+        // Written first: any catalog write invalidates every cached list of its table.
+        List<Long> otherProducts = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            otherProducts.add(saveSku(TENANT + 1, "CAT-BIG-" + i).getProduct().getId());
+        }
+        saveSku("CAT-3");
+        readCatalog();
+        long tenantLists = entries(CatalogCacheConfig.TENANT_QUERY_REGION);
+        long productLists = entries(CatalogCacheConfig.PRODUCT_QUERY_REGION);
+
+        // Another tenant browsing many of its products.
+        for (Long productId : otherProducts) {
+            mockMvc.perform(get("/api/product-skus/product/{id}", productId)).andExpect(status().isOk());
+        }
+
+        assertEquals(tenantLists, entries(CatalogCacheConfig.TENANT_QUERY_REGION));
+        assertEquals(productLists + 20, entries(CatalogCacheConfig.PRODUCT_QUERY_REGION));
+        QueryBudget.atMost(0, "first tenant's cached lists", () -> {
+            productRepository.findBytenantid(TENANT);
+            return productSkuRepository.findByTenantID(TENANT);
+        });
+    }
+
+    private long entries(String region) {
+        long count = 0;
+        for (Cache.Entry<Object, Object> ignored : catalogCacheManager.getCache(region)) {
+            count++;
+        }
+        return count;
+    }
+
+    private Object readCatalog() throws Exception {
+        mockMvc.perform(get("/api/products/tenant/{id}", TENANT)).andExpect(status().isOk());
+        return mockMvc.perform(get("/api/product-skus/tenant/{id}", TENANT)).andExpect(status().isOk());
+    }
+
+    private void saveSku(String skuCode) {
+        saveSku(TENANT, skuCode);
+    }
+
+    private ProductSku saveSku(long tenantId, String skuCode) {
+        Product product = new Product();
+        product.setProductName("Catalog product");
+        product.setTenantid(tenantId);
+        product = productRepository.save(product);
+        ProductSku sku = new ProductSku();
+        sku.setSkuCode(skuCode);
+        sku.setQuantityAvailable(0);
+        sku.setTenantID(tenantId);
+        sku.setProduct(product);
+        return productSkuRepository.save(sku);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+class ConnectionLimitingDataSourceTest {
+
+    @Test
+    void waitsForAPermitAndReturnsItOnceOnClose() throws Exception {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:limiter");
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(h2, 2, 50);
+
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        assertEquals(0, dataSource.availablePermits());
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        first.close();
+        first.close();
+        assertEquals(1, dataSource.availablePermits());
+
+        try (Connection third = dataSource.getConnection()) {
+            assertEquals(0, dataSource.availablePermits());
+            assertEquals(third, third);
+        }
+        second.close();
+        assertEquals(2, dataSource.availablePermits());
+    }
+
+    @Test
+    void failedConnectReturnsThePermit() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:/nonexistent/dir/db;IFEXISTS=TRUE");
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(h2, 1, 50);
+
+        assertThrows(Exception.class, dataSource::getConnection);
+        assertEquals(1, dataSource.availablePermits());
+    }
+}
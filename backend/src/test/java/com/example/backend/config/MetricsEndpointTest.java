@@ -0,0 +1,113 @@
+package com.example.backend.config;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.example.backend.entity.Product;
+import com.example.backend.entity.ProductSku;
+import com.example.backend.entity.StockIn;
+import com.example.backend.entity.StockInDetail;
+import com.example.backend.repository.ProductRepository;
+import com.example.backend.repository.ProductSkuRepository;
+import com.example.backend.repository.StockInRepository;
+import com.example.backend.service.StockFinalizeService;
+
+@SpringBootTest(properties = "metrics.tenant-tiers.gold=4301")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricsEndpointTest {
+
+    private static final long TENANT = 4301L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StockFinalizeService stockFinalizeService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSkuRepository productSkuRepository;
+
+    @Autowired
+    private StockInRepository stockInRepository;
+
+    @Test
+    void prometheusScrapeHasRequestFinalizePoolAndHibernateMeters() throws Exception {
+        MvcResult registered = mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+            .content("{\"email\":\"metrics@tenant4301.test\",\"password\":\"secret\",\"name\":\"Metrics\","
+                + "\"companyName\":\"Tenant 4301\",\"tenantID\":4301}"))
+            .andReturn();
+        mockMvc.perform(asyncDispatch(registered)).andExpect(status().isOk());
+        MvcResult login = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"metrics@tenant4301.test\",\"password\":\"secret\"}"))
+            .andReturn();
+        mockMvc.perform(asyncDispatch(login)).andExpect(status().isOk());
+        MockHttpSession session = (MockHttpSession) login.getRequest().getSession(false);
+        mockMvc.perform(get("/api/auth/me").session(session)).andExpect(status().isOk());
+
+        stockFinalizeService.finalizeStockIn(saveStockIn().getId());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(matchesPattern(
+                "(?s).*http_server_requests_seconds_bucket\\{[^}]*tenant_tier=\"gold\"[^}]*uri=\"/api/auth/me\".*")))
+            .andExpect(content().string(containsString("tenant_tier=\"none\"")))
+            .andExpect(content().string(matchesPattern(
+                "(?s).*stock_finalize_seconds_count\\{[^}]*outcome=\"committed\",type=\"in\"\\} 1\n.*")))
+            .andExpect(content().string(matchesPattern(
+                "(?s).*stock_finalize_lines_sum\\{[^}]*type=\"in\"\\} 2.0.*")))
+            .andExpect(content().string(containsString("cache_gets_total{application=\"backend\",cache=\"sku-lookup\"")))
+            .andExpect(content().string(containsString("hikaricp_connections_pending")))
+            .andExpect(content().string(containsString("hibernate_query_executions_total")));
+    }
+
+    private StockIn saveStockIn() {
+        Product product = new Product();
+        product.setProductName("Metered product");
+        product.setTenantid(TENANT);
+        product = productRepository.save(product);
+        ProductSku sku = new ProductSku();
+        sku.setSkuCode("MET-1");
+        sku.setQuantityAvailable(0);
+        sku.setTenantID(TENANT);
+        sku.setProduct(product);
+        productSkuRepository.save(sku);
+
+        StockIn stockIn = new StockIn();
+        stockIn.setTenantId(TENANT);
+        stockIn.setDate(LocalDateTime.now());
+        stockIn.setRunningNumber("SI-MET");
+        for (int i = 0; i < 2; i++) {
+            StockInDetail detail = new StockInDetail();
+            detail.setProductName("Metered product");
+            detail.setSku("MET-1");
+            detail.setQuantity(5);
+            detail.setStockIn(stockIn);
+            stockIn.getDetails().add(detail);
+        }
+        return stockInRepository.save(stockIn);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+
+// Fails a test when an action runs more SQL statements than budgeted, e.g.
+//   QueryBudget.atMost(3, "ledger page", () -> mockMvc.perform(get(...)));
+// Counts come from the proxy in QueryCountConfig and cover statements on the calling thread,
+// which with MockMvc includes the whole request.
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    @FunctionalInterface
+    public interface Action<T> {
+        T run() throws Exception;
+    }
+
+    // Returns the number of statements the action ran, for comparing two runs.
+    public static long atMost(int statements, String description, Action<?> action) throws Exception {
+        QueryCountHolder.clear();
+        action.run();
+        QueryCount count = QueryCountHolder.getGrandTotal();
+        assertTrue(count.getTotal() <= statements, () -> description + " ran " + count.getTotal()
+            + " statements (" + count.getSelect() + " select, " + count.getInsert() + " insert, "
+            + count.getUpdate() + " update, " + count.getDelete() + " delete, " + count.getOther()
+            + " other), budget is " + statements);
+        return count.getTotal();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.backend.entity.Product;
+import com.example.backend.entity.ProductSku;
+import com.example.backend.entity.StockIn;
+import com.example.backend.entity.StockInDetail;
+import com.example.backend.repository.ProductRepository;
+import com.example.backend.repository.ProductSkuRepository;
+import com.example.backend.repository.StockInRepository;
+import com.example.backend.service.CollectionVersions;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryBudgetTest {
+
+    private static final long TENANT = 4401L;
+
+    // Header lock, per-SKU totals, SKU lookup on a cold cache, one quantity batch, one ledger
+    // copy, the header update and the details of the returned document, then the stock-in and
+    // SKU list version bumps.
+    private static final int FINALIZE_BUDGET = 9;
+    private static final int LEDGER_PAGE_BUDGET = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSkuRepository productSkuRepository;
+
+    @Autowired
+    private StockInRepository stockInRepository;
+
+    @Autowired
+    private CollectionVersions collectionVersions;
+
+    @Test
+    void finalizeCostDoesNotGrowWithLineCount() throws Exception {
+        Product product = new Product();
+        product.setProductName("Budget product");
+        product.setTenantid(TENANT);
+        product = productRepository.save(product);
+        for (int i = 0; i < 60; i++) {
+            ProductSku sku = new ProductSku();
+            sku.setSkuCode("BUD-" + i);
+            sku.setQuantityAvailable(0);
+            sku.setTenantID(TENANT);
+            sku.setProduct(product);
+            productSkuRepository.save(sku);
+        }
+        // A tenant's first bump of a list also creates its version row.
+        collectionVersions.bump(CollectionVersions.Kind.STOCK_IN, TENANT);
+        collectionVersions.bump(CollectionVersions.Kind.PRODUCT_SKUS, TENANT);
+        Long small = saveStockIn("SI-BUD-1", 2).getId();
+        Long large = saveStockIn("SI-BUD-2", 60).getId();
+
+        long smallCount = QueryBudget.atMost(FINALIZE_BUDGET, "finalize of 2 lines",
+            () -> mockMvc.perform(post("/api/stock-in/{id}/finalize", small)).andExpect(status().isOk()));
+        long largeCount = QueryBudget.atMost(FINALIZE_BUDGET, "finalize of 60 lines",
+            () -> mockMvc.perform(post("/api/stock-in/{id}/finalize", large)).andExpect(status().isOk()));
+        assertEquals(smallCount, largeCount);
+    }
+
+    @Test
+    void ledgerPageStaysWithinBudget() throws Exception {
+        QueryBudget.atMost(LEDGER_PAGE_BUDGET, "ledger page",
+            () -> mockMvc.perform(get("/api/stock-ledger/tenant/{id}/page", TENANT).param("limit", "50"))
+                .andExpect(status().isOk()));
+    }
+
+    private StockIn saveStockIn(String runningNumber, int lines) {
+        StockIn stockIn = new StockIn();
+        stockIn.setTenantId(TENANT);
+        stockIn.setDate(LocalDateTime.now());
+        stockIn.setRunningNumber(runningNumber);
+        for (int i = 0; i < lines; i++) {
+            StockInDetail detail = new StockInDetail();
+            detail.setProductName("Budget product");
+            detail.setSku("BUD-" + i);
+            detail.setQuantity(1);
+            detail.setStockIn(stockIn);
+            stockIn.getDetails().add(detail);
+        }
+        return stockInRepository.save(stockIn);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.backend.config;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = "uploads.directory=target/test-uploads")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UploadResourceHandlerTest {
+
+    private static final String HASH = "ab".repeat(32);
+    private static final Path PRODUCTS = Path.of("target", "test-uploads", "products");
+    private static final String BODY = "0123456789abcdefghij";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeAll
+    static void writeFiles() throws Exception {
+        Files.createDirectories(PRODUCTS);
+        Files.writeString(PRODUCTS.resolve(HASH + ".txt"), BODY);
+        Files.writeString(PRODUCTS.resolve("legacy-photo.txt"), BODY);
+        ByteArrayOutputStream gz = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(gz)) {
+            out.write(BODY.getBytes(StandardCharsets.UTF_8));
+        }
+        Files.write(PRODUCTS.resolve(HASH + ".txt.gz"), gz.toByteArray());
+    }
+
+    @Test
+    void contentAddressedFilesAreImmutableWithStrongEtag() throws Exception {
+        mockMvc.perform(get("/uploads/products/" + HASH + ".txt"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + HASH + ".txt\""))
+            .andExpect(content().string(BODY));
+
+        mockMvc.perform(get("/uploads/products/" + HASH + ".txt")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + HASH + ".txt\""))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void byteRangesAreServed() throws Exception {
+        mockMvc.perform(get("/uploads/products/legacy-photo.txt").header(HttpHeaders.RANGE, "bytes=5-9"))
+            .andExpect(status().isPartialContent())
+            .andExpect(content().string("56789"));
+    }
+
+    @Test
+    void precompressedSiblingIsUsedWhenAccepted() throws Exception {
+        mockMvc.perform(get("/uploads/products/" + HASH + ".txt").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + HASH + ".txt.gzip\""));
+    }
+
+    @Test
+    void otherUploadsAreRevalidated() throws Exception {
+        mockMvc.perform(get("/uploads/products/legacy-photo.txt"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+    }
+}
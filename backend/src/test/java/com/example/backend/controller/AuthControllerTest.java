@@ -0,0 +1,113 @@
+package com.example.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.example.backend.entity.User;
+import com.example.backend.repository.UserRepository;
+
+@SpringBootTest(properties = "password-hashing.strength=5")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthControllerTest {
+
+    private static final long TENANT = 4501L;
+    private static final String EMAIL = "rehash@tenant4501.test";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoSpyBean
+    private UserRepository userRepository;
+
+    @Test
+    void loginRunsOffTheRequestThreadAndUpgradesWeakHashes() throws Exception {
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", EMAIL);
+        jdbcTemplate.update("INSERT INTO users (email, password, name, company_name, employment_status, is_deleted,"
+            + " tenantid) VALUES (?, ?, 'Rehash', 'Tenant 4501', 0, FALSE, ?)",
+            EMAIL, new BCryptPasswordEncoder(4).encode("secret"), TENANT);
+
+        MvcResult wrong = login("not-the-password");
+        mockMvc.perform(asyncDispatch(wrong)).andExpect(status().isUnauthorized());
+
+        MvcResult ok = login("secret");
+        mockMvc.perform(asyncDispatch(ok))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.tenantID").value(TENANT));
+
+        // The upgrade is stored in the background after the response.
+        String hash = storedHash();
+        for (int i = 0; i < 500 && !hash.startsWith("$2a$05$"); i++) {
+            Thread.sleep(20);
+            hash = storedHash();
+        }
+        assertTrue(hash.startsWith("$2a$05$"), hash);
+    }
+
+    @Test
+    void passwordChangeSavesOffTheHashingPool() throws Exception {
+        String email = "change@tenant4501.test";
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", email);
+        jdbcTemplate.update("INSERT INTO users (email, password, name, company_name, employment_status, is_deleted,"
+            + " tenantid) VALUES (?, ?, 'Change', 'Tenant 4501', 0, FALSE, ?)",
+            email, new BCryptPasswordEncoder(5).encode("before"), TENANT);
+        Long id = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+        List<String> savingThreads = new CopyOnWriteArrayList<>();
+        List<String> savedHashes = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            savingThreads.add(Thread.currentThread().getName());
+            User saved = invocation.getArgument(0);
+            savedHashes.add(saved.getPassword());
+            return saved;
+        }).when(userRepository).save(any(User.class));
+
+        MvcResult update = mockMvc.perform(put("/api/auth/users/{id}", id).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + email + "\",\"password\":\"after\",\"name\":\"Change\","
+                    + "\"tenantID\":" + TENANT + "}"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(update)).andExpect(status().isOk());
+
+        assertEquals(1, savingThreads.size());
+        assertFalse(savingThreads.get(0).startsWith("password-hashing"), savingThreads.get(0));
+        assertTrue(new BCryptPasswordEncoder().matches("after", savedHashes.get(0)));
+    }
+
+    private MvcResult login(String password) throws Exception {
+        return mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + EMAIL + "\",\"password\":\"" + password + "\"}"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    }
+
+    private String storedHash() {
+        return jdbcTemplate.queryForObject("SELECT password FROM users WHERE email = ?", String.class, EMAIL);
+    }
+}
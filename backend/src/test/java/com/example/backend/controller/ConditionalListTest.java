@@ -0,0 +1,93 @@
+package com.example.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.backend.config.QueryBudget;
+import com.example.backend.service.CollectionVersions;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalListTest {
+
+    private static final long TENANT = 4901L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void unchangedListIsAnsweredFromMemory() throws Exception {
+        String etag = etag("/api/stock-in/tenant/{id}");
+
+        QueryBudget.atMost(0, "conditional stock-in poll",
+            () -> mockMvc.perform(get("/api/stock-in/tenant/{id}", TENANT).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag)));
+    }
+
+    @Test
+    void writesChangeTheTagOfTheirCollectionOnly() throws Exception {
+        String products = etag("/api/products/tenant/{id}");
+        String skus = etag("/api/product-skus/tenant/{id}");
+
+        String created = mockMvc.perform(post("/api/products").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"productName\":\"Polled product\",\"tenantid\":4901}"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(get("/api/products/tenant/{id}", TENANT).header(HttpHeaders.IF_NONE_MATCH, products))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/api/product-skus/tenant/{id}", TENANT).header(HttpHeaders.IF_NONE_MATCH, skus))
+            .andExpect(status().isNotModified());
+
+        JsonNode product = objectMapper.readTree(created);
+        mockMvc.perform(post("/api/product-skus/product/{id}", product.get("id").asLong())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"skuCode\":\"POLL-1\",\"quantityAvailable\":0,\"tenantID\":4901}"))
+            .andExpect(status().isOk());
+        assertNotEquals(skus, etag("/api/product-skus/tenant/{id}"));
+    }
+
+    @Test
+    void writesOnAnotherNodeEndMatchingPollsWithinMaxAge() throws Exception {
+        String etag = etag("/api/stock-out/tenant/{id}");
+        CollectionVersions otherNode = new CollectionVersions(jdbcTemplate, 100, Duration.ofSeconds(1));
+        otherNode.bump(CollectionVersions.Kind.STOCK_OUT, TENANT);
+
+        Thread.sleep(1100);
+        mockMvc.perform(get("/api/stock-out/tenant/{id}", TENANT).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk());
+        assertEquals(etag("/api/stock-out/tenant/{id}"), otherNode.etag(CollectionVersions.Kind.STOCK_OUT, TENANT));
+    }
+
+    private String etag(String path) throws Exception {
+        return mockMvc.perform(get(path, TENANT))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.backend.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void variantsThatWereNeverRenderedAreNotListed() throws Exception {
+        String image = "/uploads/products/" + "cd".repeat(32) + ".webp";
+        String created = mockMvc.perform(post("/api/products").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"productName\":\"Unrendered\",\"tenantid\":5301,\"productImage\":\"" + image + "\"}"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/api/products/{id}", objectMapper.readTree(created).get("id").asLong()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.productImage").value(image))
+            .andExpect(jsonPath("$.productImageVariants").isEmpty());
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.backend.config.QueryBudget;
+import com.example.backend.entity.Product;
+import com.example.backend.entity.ProductSku;
+import com.example.backend.repository.ProductRepository;
+import com.example.backend.repository.ProductSkuRepository;
+import com.example.backend.service.SkuLookupCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductSkuControllerTest {
+
+    private static final long TENANT = 5501L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SkuLookupCache skuLookupCache;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSkuRepository productSkuRepository;
+
+    @Test
+    void createdSkuIsFoundAfterAMissedLookup() throws Exception {
+        Product product = saveProduct();
+        assertNull(skuLookupCache.find(TENANT, "LOOKUP-NEW"));
+
+        long id = createSku(product.getId(), "LOOKUP-NEW", "Red");
+        assertEquals(id, skuLookupCache.find(TENANT, "LOOKUP-NEW").getId());
+    }
+
+    @Test
+    void updateDropsTheOldCodeAndRefreshesTheNewOne() throws Exception {
+        Product product = saveProduct();
+        long id = createSku(product.getId(), "LOOKUP-OLD", "Red");
+        skuLookupCache.find(TENANT, "LOOKUP-OLD");
+        QueryBudget.atMost(0, "cached lookup", () -> skuLookupCache.find(TENANT, "LOOKUP-OLD"));
+
+        mockMvc.perform(put("/api/product-skus/{id}", id).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"skuCode\":\"LOOKUP-RENAMED\",\"colour\":\"Green\",\"quantityAvailable\":0}"))
+            .andExpect(status().isOk());
+
+        assertNull(skuLookupCache.find(TENANT, "LOOKUP-OLD"));
+        assertEquals("Green", skuLookupCache.find(TENANT, "LOOKUP-RENAMED").getColour());
+        assertEquals(id, skuLookupCache.find(TENANT, "LOOKUP-RENAMED").getId());
+    }
+
+    @Test
+    void deleteDropsTheCode() throws Exception {
+        Product product = saveProduct();
+        long id = createSku(product.getId(), "LOOKUP-GONE", "Red");
+        assertEquals(id, skuLookupCache.find(TENANT, "LOOKUP-GONE").getId());
+
+        mockMvc.perform(delete("/api/product-skus/{id}", id)).andExpect(status().isNoContent());
+
+        assertNull(skuLookupCache.find(TENANT, "LOOKUP-GONE"));
+    }
+
+    @Test
+    void writesOnAnotherNodeAreSeenOnceEntriesExpire() throws Exception {
+        Product product = saveProduct();
+        long id = createSku(product.getId(), "LOOKUP-REMOTE", "Red");
+        SkuLookupCache node = new SkuLookupCache(productSkuRepository, 100, Duration.ofMillis(200),
+            new SimpleMeterRegistry());
+        assertEquals("Red", node.find(TENANT, "LOOKUP-REMOTE").getColour());
+
+        // Written through this node's controller, so the other cache is not told.
+        mockMvc.perform(put("/api/product-skus/{id}", id).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"skuCode\":\"LOOKUP-REMOTE\",\"colour\":\"Blue\",\"quantityAvailable\":0}"))
+            .andExpect(status().isOk());
+        assertEquals("Red", node.find(TENANT, "LOOKUP-REMOTE").getColour());
+
+        Thread.sleep(300);
+        assertEquals("Blue", node.find(TENANT, "LOOKUP-REMOTE").getColour());
+    }
+
+    private Product saveProduct() {
+        Product product = new Product();
+        product.setProductName("Lookup product");
+        product.setTenantid(TENANT);
+        return productRepository.save(product);
+    }
+
+    private long createSku(Long productId, String code, String colour) throws Exception {
+        String body = mockMvc.perform(post("/api/product-skus/product/{id}", productId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"skuCode\":\"" + code + "\",\"colour\":\"" + colour
+                    + "\",\"quantityAvailable\":0,\"tenantID\":" + TENANT + "}"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+}
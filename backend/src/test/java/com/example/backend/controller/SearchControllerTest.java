@@ -0,0 +1,143 @@
+package com.example.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.example.backend.config.QueryBudget;
+import com.example.backend.dto.SearchHit;
+import com.example.backend.repository.ProductRepository;
+import com.example.backend.service.CatalogSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SearchControllerTest {
+
+    private static final long TENANT = 5201L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void prefixesMatchNamesCodesAndWords() throws Exception {
+        long shirt = createProduct(TENANT, "Linen Shirt");
+        createSku(shirt, TENANT, "SHIRT-BLUE-M", "Blue", "M");
+        createSku(shirt, TENANT, "SHIRT-RED-L", "Red", "L");
+        createProduct(TENANT, "Socks");
+        createSku(createProduct(TENANT + 1, "Linen Trousers"), TENANT + 1, "TROUSER-1", "Blue", "32");
+
+        search("lin").andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].productName").value("Linen Shirt"));
+        search("shirt-r").andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].skuCode").value("SHIRT-RED-L"));
+        search("blue").andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].skuCode").value("SHIRT-BLUE-M"));
+        search("sock").andExpect(jsonPath("$[0].skuId").doesNotExist());
+        search(" ").andExpect(jsonPath("$.length()").value(0));
+
+        QueryBudget.atMost(0, "warm typeahead", () -> search("SHIRT").andExpect(jsonPath("$.length()").value(2)));
+    }
+
+    @Test
+    void writesAreSeenOnceTheIndexIsRebuilt() throws Exception {
+        long tenant = TENANT + 3;
+        long product = createProduct(tenant, "Canvas Bag");
+        long sku = createSku(product, tenant, "BAG-1", "Olive", "OS");
+        search(tenant, "canvas").andExpect(jsonPath("$.length()").value(1));
+
+        mockMvc.perform(put("/api/products/{id}", product).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"productName\":\"Tote Bag\"}"))
+            .andExpect(status().isOk());
+        // The write does not make the next keystroke reload the tenant.
+        QueryBudget.atMost(0, "search during rebuild", () -> search(tenant, "canvas"));
+        awaitHits(tenant, "canvas", 0);
+        search(tenant, "tote").andExpect(jsonPath("$[0].skuCode").value("BAG-1"));
+
+        mockMvc.perform(delete("/api/product-skus/{id}", sku)).andExpect(status().isNoContent());
+        awaitHits(tenant, "bag-1", 0);
+    }
+
+    @Test
+    void tenantsOverTheBoundAreQueriedNotHeld() throws Exception {
+        long tenant = TENANT + 2;
+        long shirt = createProduct(tenant, "Linen Shirt");
+        createSku(shirt, tenant, "SHIRT-1", "Blue", "M");
+        createSku(shirt, tenant, "SHIRT-2", "Sky Blue", "L");
+        createProduct(tenant, "Wool Socks");
+        CatalogSearchIndex index = new CatalogSearchIndex(productRepository, 100, 2, Duration.ofMinutes(10),
+            Runnable::run, new SimpleMeterRegistry());
+
+        // The first search finds the tenant too big with a load capped at the bound.
+        QueryBudget.atMost(2, "first over-bound search", () -> searchBlue(index, tenant));
+        QueryBudget.atMost(1, "over-bound search", () -> searchBlue(index, tenant));
+        assertEquals("Wool Socks", index.search(tenant, "sock", 10).get(0).getProductName());
+        assertEquals(0, index.search(tenant, "%", 10).size());
+    }
+
+    private static List<SearchHit> searchBlue(CatalogSearchIndex index, long tenantId) {
+        List<SearchHit> hits = index.search(tenantId, "blue", 10);
+        assertEquals(List.of("SHIRT-1", "SHIRT-2"), hits.stream().map(SearchHit::getSkuCode).toList());
+        return hits;
+    }
+
+    private void awaitHits(long tenantId, String q, int count) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (objectMapper.readTree(search(tenantId, q).andReturn().getResponse().getContentAsString()).size() != count) {
+            assertTrue(System.currentTimeMillis() < deadline, "index not rebuilt for " + q);
+            Thread.sleep(20);
+        }
+    }
+
+    private ResultActions search(String q) throws Exception {
+        return search(TENANT, q);
+    }
+
+    private ResultActions search(long tenantId, String q) throws Exception {
+        return mockMvc.perform(get("/api/search/tenant/{id}", tenantId).param("q", q)).andExpect(status().isOk());
+    }
+
+    private long createProduct(long tenantId, String name) throws Exception {
+        String body = mockMvc.perform(post("/api/products").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"productName\":\"" + name + "\",\"tenantid\":" + tenantId + "}"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private long createSku(long productId, long tenantId, String code, String colour, String size) throws Exception {
+        String body = mockMvc.perform(post("/api/product-skus/product/{id}", productId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"skuCode\":\"" + code + "\",\"colour\":\"" + colour + "\",\"size\":\"" + size
+                    + "\",\"quantityAvailable\":0,\"tenantID\":" + tenantId + "}"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.backend.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.backend.entity.Product;
+import com.example.backend.entity.ProductSku;
+import com.example.backend.entity.StockOut;
+import com.example.backend.entity.StockOutDetail;
+import com.example.backend.repository.ProductRepository;
+import com.example.backend.repository.ProductSkuRepository;
+import com.example.backend.repository.StockOutRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StockAlertControllerTest {
+
+    private static final long TENANT = 5101L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSkuRepository productSkuRepository;
+
+    @Autowired
+    private StockOutRepository stockOutRepository;
+
+    @Test
+    void stockOutsRecordEachThresholdCrossingOnce() throws Exception {
+        Product product = saveProduct(TENANT);
+        Long first = saveSku(product, "ALERT-A", 10).getId();
+        Long second = saveSku(product, "ALERT-B", 10).getId();
+        saveSku(product, "ALERT-UNWATCHED", 10);
+        Long foreign = saveSku(saveProduct(TENANT + 1), "ALERT-FOREIGN", 10).getId();
+
+        mockMvc.perform(put("/api/product-skus/tenant/{id}/reorder-thresholds", TENANT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"skuId\":" + first + ",\"threshold\":5},{\"skuId\":" + second + ",\"threshold\":5},"
+                    + "{\"skuId\":" + foreign + ",\"threshold\":5},{\"skuId\":999999999,\"threshold\":null}]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.updated").value(2))
+            .andExpect(jsonPath("$.unknownSkuIds.length()").value(2));
+
+        // ALERT-B crosses on two lines of the same document; ALERT-A stays above.
+        finalize(saveStockOut("SO-ALERT-1", "ALERT-A", 4, "ALERT-B", 2, "ALERT-B", 4, "ALERT-UNWATCHED", 9));
+        // ALERT-A crosses now; ALERT-B was already below and raises nothing.
+        finalize(saveStockOut("SO-ALERT-2", "ALERT-A", 2, "ALERT-B", 1));
+
+        String cursor = mockMvc.perform(get("/api/alerts/tenant/{id}", TENANT).param("limit", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.alerts.length()").value(1))
+            .andExpect(jsonPath("$.alerts[0].skuCode").value("ALERT-A"))
+            .andExpect(jsonPath("$.alerts[0].runningNumber").value("SO-ALERT-2"))
+            .andExpect(jsonPath("$.alerts[0].quantityBefore").value(6))
+            .andExpect(jsonPath("$.alerts[0].quantityAfter").value(4))
+            .andReturn().getResponse().getContentAsString()
+            .replaceAll(".*\"nextCursor\":\"([^\"]+)\".*", "$1");
+
+        mockMvc.perform(get("/api/alerts/tenant/{id}", TENANT).param("limit", "1").param("cursor", cursor))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.alerts[0].skuCode").value("ALERT-B"))
+            .andExpect(jsonPath("$.alerts[0].reorderThreshold").value(5))
+            .andExpect(jsonPath("$.alerts[0].quantityBefore").value(10))
+            .andExpect(jsonPath("$.alerts[0].quantityAfter").value(4))
+            .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/alerts/tenant/{id}", TENANT).param("cursor", "not-a-cursor"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private void finalize(Long stockOutId) throws Exception {
+        mockMvc.perform(post("/api/stock-out/{id}/finalize", stockOutId)).andExpect(status().isOk());
+    }
+
+    private Product saveProduct(long tenantId) {
+        Product product = new Product();
+        product.setProductName("Alert product");
+        product.setTenantid(tenantId);
+        return productRepository.save(product);
+    }
+
+    private ProductSku saveSku(Product product, String skuCode, int quantity) {
+        ProductSku sku = new ProductSku();
+        sku.setSkuCode(skuCode);
+        sku.setQuantityAvailable(quantity);
+        sku.setTenantID(product.getTenantid());
+        sku.setProduct(product);
+        return productSkuRepository.save(sku);
+    }
+
+    // Lines are given as sku, quantity pairs.
+    private Long saveStockOut(String runningNumber, Object... lines) {
+        StockOut stockOut = new StockOut();
+        stockOut.setTenantId(TENANT);
+        stockOut.setDate(LocalDateTime.now());
+        stockOut.setRunningNumber(runningNumber);
+        for (int i = 0; i < lines.length; i += 2) {
+            StockOutDetail detail = new StockOutDetail();
+            detail.setProductName("Alert product");
+            detail.setSku((String) lines[i]);
+            detail.setQuantity((Integer) lines[i + 1]);
+            detail.setStockOut(stockOut);
+            stockOut.getDetails().add(detail);
+        }
+        return stockOutRepository.save(stockOut).getId();
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.backend.entity.Product;
+import com.example.backend.entity.ProductSku;
+import com.example.backend.entity.StockIn;
+import com.example.backend.entity.StockInDetail;
+import com.example.backend.repository.ProductRepository;
+import com.example.backend.repository.ProductSkuRepository;
+import com.example.backend.repository.StockInRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StockFeedControllerTest {
+
+    private static final long TENANT = 5001L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSkuRepository productSkuRepository;
+
+    @Autowired
+    private StockInRepository stockInRepository;
+
+    @Test
+    void committedFinalizesArePushedAndRolledBackOnesAreNot() throws Exception {
+        Long skuId = saveSku("FEED-1");
+        MockHttpServletResponse feed = mockMvc.perform(get("/api/stock-feed/tenant/{id}", TENANT))
+            .andExpect(request().asyncStarted())
+            .andReturn().getResponse();
+
+        Long failing = saveStockIn("SI-FEED-1", "FEED-UNKNOWN").getId();
+        mockMvc.perform(post("/api/stock-in/{id}/finalize", failing)).andExpect(status().isBadRequest());
+        Long finalized = saveStockIn("SI-FEED-2", "FEED-1").getId();
+        mockMvc.perform(post("/api/stock-in/{id}/finalize", finalized)).andExpect(status().isOk());
+
+        Long next = saveStockIn("SI-FEED-3", "FEED-1").getId();
+        mockMvc.perform(post("/api/stock-in/{id}/finalize", next)).andExpect(status().isOk());
+
+        String stream = awaitContent(feed, "SI-FEED-3");
+        assertTrue(stream.contains("event:stock-levels"), stream);
+        assertTrue(stream.contains("\"documentId\":" + finalized), stream);
+        // The rolled back finalize did not bump the version; each committed one did.
+        assertTrue(stream.contains("\"skuId\":" + skuId + ",\"quantityAvailable\":3,\"version\":1"), stream);
+        assertTrue(stream.contains("\"skuId\":" + skuId + ",\"quantityAvailable\":6,\"version\":2"), stream);
+        assertFalse(stream.contains("SI-FEED-1"), stream);
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String content = response.getContentAsString();
+        while (!content.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            content = response.getContentAsString();
+        }
+        return content;
+    }
+
+    private Long saveSku(String skuCode) {
+        Product product = new Product();
+        product.setProductName("Feed product");
+        product.setTenantid(TENANT);
+        product = productRepository.save(product);
+        ProductSku sku = new ProductSku();
+        sku.setSkuCode(skuCode);
+        sku.setQuantityAvailable(0);
+        sku.setTenantID(TENANT);
+        sku.setProduct(product);
+        return productSkuRepository.save(sku).getId();
+    }
+
+    private StockIn saveStockIn(String runningNumber, String sku) {
+        StockIn stockIn = new StockIn();
+        stockIn.setTenantId(TENANT);
+        stockIn.setDate(LocalDateTime.now());
+        stockIn.setRunningNumber(runningNumber);
+        StockInDetail detail = new StockInDetail();
+        detail.setProductName("Feed product");
+        detail.setSku(sku);
+        detail.setQuantity(3);
+        detail.setStockIn(stockIn);
+        stockIn.getDetails().add(detail);
+        return stockInRepository.save(stockIn);
+    }
+}
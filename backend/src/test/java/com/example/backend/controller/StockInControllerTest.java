@@ -0,0 +1,166 @@
+package com.example.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.backend.config.QueryBudget;
+import com.example.backend.entity.Product;
+import com.example.backend.entity.ProductSku;
+import com.example.backend.entity.StockIn;
+import com.example.backend.entity.StockInDetail;
+import com.example.backend.entity.User;
+import com.example.backend.repository.ProductRepository;
+import com.example.backend.repository.ProductSkuRepository;
+import com.example.backend.repository.StockInRepository;
+import com.example.backend.repository.UserRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StockInControllerTest {
+
+    private static final long TENANT = 5801L;
+
+    // The summaries, the tenant's list version and its user directory, however many documents
+    // and lines the list covers.
+    private static final int LIST_BUDGET = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSkuRepository productSkuRepository;
+
+    @Autowired
+    private StockInRepository stockInRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void stockInThatWouldOverflowTheLevelIsRefused() throws Exception {
+        Product product = new Product();
+        product.setProductName("Stock-in product");
+        product.setTenantid(TENANT);
+        product = productRepository.save(product);
+        ProductSku sku = new ProductSku();
+        sku.setSkuCode("IN-FULL");
+        sku.setQuantityAvailable(Integer.MAX_VALUE - 5);
+        sku.setTenantID(TENANT);
+        sku.setProduct(product);
+        Long skuId = productSkuRepository.save(sku).getId();
+
+        StockIn stockIn = new StockIn();
+        stockIn.setTenantId(TENANT);
+        stockIn.setDate(LocalDateTime.now());
+        stockIn.setRunningNumber("SI-FULL-1");
+        StockInDetail detail = new StockInDetail();
+        detail.setProductName("Stock-in product");
+        detail.setSku("IN-FULL");
+        detail.setQuantity(10);
+        detail.setStockIn(stockIn);
+        stockIn.getDetails().add(detail);
+        Long stockInId = stockInRepository.save(stockIn).getId();
+
+        mockMvc.perform(post("/api/stock-in/{id}/finalize", stockInId))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("Quantity out of range"))
+            .andExpect(jsonPath("$.shortages[0].sku").value("IN-FULL"))
+            .andExpect(jsonPath("$.shortages[0].available").value(Integer.MAX_VALUE - 5));
+
+        assertEquals(Integer.MAX_VALUE - 5, jdbcTemplate.queryForObject(
+            "SELECT quantity_available FROM product_skus WHERE id = ?", Integer.class, skuId));
+    }
+
+    @Test
+    void listIsOneSummaryRowPerDocumentWithoutLoadingLines() throws Exception {
+        long small = TENANT + 11;
+        long large = TENANT + 12;
+        Long clerk = saveUser(small, "Small clerk").getId();
+        saveDocument(small, "SI-LIST-1", clerk, 1, 4);
+        Long first = saveUser(large, "First clerk").getId();
+        Long second = saveUser(large, "Second clerk").getId();
+        for (int i = 0; i < 20; i++) {
+            saveDocument(large, "SI-LIST-" + (100 + i), i % 2 == 0 ? first : second, 5, 2);
+        }
+
+        long smallCount = QueryBudget.atMost(LIST_BUDGET, "stock-in list of 1",
+            () -> mockMvc.perform(get("/api/stock-in/tenant/{id}", small))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].runningNumber").value("SI-LIST-1"))
+                .andExpect(jsonPath("$[0].finalized").value(false))
+                .andExpect(jsonPath("$[0].lineCount").value(1))
+                .andExpect(jsonPath("$[0].totalQuantity").value(4))
+                .andExpect(jsonPath("$[0].createdBy").value(clerk))
+                .andExpect(jsonPath("$[0].createdByName").value("Small clerk"))
+                .andExpect(jsonPath("$[0].details").doesNotExist()));
+        long largeCount = QueryBudget.atMost(LIST_BUDGET, "stock-in list of 20",
+            () -> mockMvc.perform(get("/api/stock-in/tenant/{id}", large))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(20))
+                .andExpect(jsonPath("$[1].lineCount").value(5))
+                .andExpect(jsonPath("$[1].totalQuantity").value(10))
+                .andExpect(jsonPath("$[1].createdByName").value("Second clerk")));
+        assertEquals(smallCount, largeCount);
+    }
+
+    @Test
+    void detailLoadsTheLinesWithTheHeader() throws Exception {
+        Long id = saveDocument(TENANT + 13, "SI-DETAIL-1", null, 30, 1);
+
+        QueryBudget.atMost(1, "stock-in detail",
+            () -> mockMvc.perform(get("/api/stock-in/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.runningNumber").value("SI-DETAIL-1"))
+                .andExpect(jsonPath("$.details.length()").value(30))
+                .andExpect(jsonPath("$.details[29].sku").value("SI-DETAIL-29")));
+    }
+
+    private User saveUser(long tenantId, String name) {
+        User user = new User();
+        user.setEmail(name.replace(' ', '.').toLowerCase() + "." + tenantId + "@example.com");
+        user.setPassword("not-a-hash");
+        user.setName(name);
+        user.setCompanyName("Summary company");
+        user.setTenantID(tenantId);
+        return userRepository.save(user);
+    }
+
+    // Every line gets the same quantity and a SKU named after the running number.
+    private Long saveDocument(long tenantId, String runningNumber, Long createdBy, int lines, int quantity) {
+        StockIn document = new StockIn();
+        document.setTenantId(tenantId);
+        document.setDate(LocalDateTime.now());
+        document.setRunningNumber(runningNumber);
+        document.setCreatedBy(createdBy);
+        for (int i = 0; i < lines; i++) {
+            StockInDetail detail = new StockInDetail();
+            detail.setProductName("Summary product");
+            detail.setSku(runningNumber.substring(0, runningNumber.lastIndexOf('-')) + "-" + i);
+            detail.setQuantity(quantity);
+            detail.setStockIn(document);
+            document.getDetails().add(detail);
+        }
+        return stockInRepository.save(document).getId();
+    }
+}
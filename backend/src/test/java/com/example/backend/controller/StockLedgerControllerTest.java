@@ -0,0 +1,244 @@
+package com.example.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.example.backend.entity.Product;
+import com.example.backend.entity.ProductSku;
+import com.example.backend.entity.StockIn;
+import com.example.backend.entity.StockInDetail;
+import com.example.backend.entity.StockOut;
+import com.example.backend.entity.StockOutDetail;
+import com.example.backend.repository.ProductRepository;
+import com.example.backend.repository.ProductSkuRepository;
+import com.example.backend.repository.StockInRepository;
+import com.example.backend.repository.StockLedgerJdbcRepository;
+import com.example.backend.repository.StockOutRepository;
+import com.example.backend.service.StockLedgerBackfill;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StockLedgerControllerTest {
+
+    private static final long TENANT = 5601L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSkuRepository productSkuRepository;
+
+    @Autowired
+    private StockInRepository stockInRepository;
+
+    @Autowired
+    private StockOutRepository stockOutRepository;
+
+    @Autowired
+    private StockLedgerJdbcRepository stockLedgerJdbcRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void productFilterOnlyReturnsThatProductsLines() throws Exception {
+        Product shirt = saveProduct(TENANT, "Ledger shirt");
+        Product socks = saveProduct(TENANT, "Ledger socks");
+        saveSku(shirt, "LEDGER-SHIRT");
+        saveSku(socks, "LEDGER-SOCKS");
+        // Same code in another tenant, under another product.
+        Product foreign = saveProduct(TENANT + 1, "Foreign shirt");
+        saveSku(foreign, "LEDGER-SHIRT");
+
+        finalizeStockIn(saveStockIn(TENANT, "SI-LEDGER-1", "LEDGER-SHIRT", 3, "LEDGER-SOCKS", 5));
+        finalizeStockIn(saveStockIn(TENANT, "SI-LEDGER-2", "LEDGER-SHIRT", 2));
+
+        mockMvc.perform(get("/api/stock-ledger/tenant/{id}/page", TENANT).param("productId", shirt.getId().toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.entries.length()").value(2))
+            .andExpect(jsonPath("$.entries[0].runningNumber").value("SI-LEDGER-2"))
+            .andExpect(jsonPath("$.entries[1].sku").value("LEDGER-SHIRT"))
+            .andExpect(jsonPath("$.entries[1].quantity").value(3))
+            .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        mockMvc.perform(get("/api/stock-ledger/tenant/{id}/page", TENANT).param("productId", socks.getId().toString()))
+            .andExpect(jsonPath("$.entries.length()").value(1))
+            .andExpect(jsonPath("$.entries[0].sku").value("LEDGER-SOCKS"));
+        mockMvc.perform(get("/api/stock-ledger/tenant/{id}/page", TENANT).param("productId", foreign.getId().toString()))
+            .andExpect(jsonPath("$.entries.length()").value(0));
+    }
+
+    @Test
+    void finalizeCopiesEveryLineAndPagesFollowTheCursor() throws Exception {
+        long tenant = TENANT + 2;
+        Product product = saveProduct(tenant, "Paged product");
+        saveSku(product, "PAGE-A");
+        saveSku(product, "PAGE-B");
+        Long stockIn = saveStockIn(tenant, "SI-PAGE-1", "PAGE-A", 10, "PAGE-B", 4, "PAGE-A", 1);
+        finalizeStockIn(stockIn);
+        Long stockOut = saveStockOut(tenant, "SO-PAGE-1", "PAGE-A", 6, "PAGE-B", 2);
+        mockMvc.perform(post("/api/stock-out/{id}/finalize", stockOut)).andExpect(status().isOk());
+
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM stock_ledger WHERE type = 'IN'"
+            + " AND record_id = ? AND product_id = ?", Integer.class, stockIn, product.getId()));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM stock_ledger WHERE type = 'OUT'"
+            + " AND record_id = ? AND tenant_id = ?", Integer.class, stockOut, tenant));
+
+        // Newest first: the stock-out lines, then the stock-in lines, two per page.
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        for (int page = 0; page < 3; page++) {
+            MockHttpServletRequestBuilder request = get("/api/stock-ledger/tenant/{id}/page", tenant)
+                .param("limit", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode body = objectMapper.readTree(mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+            for (JsonNode entry : body.get("entries")) {
+                seen.add(entry.get("type").asText() + " " + entry.get("sku").asText() + " "
+                    + entry.get("quantity").asInt());
+            }
+            cursor = body.hasNonNull("nextCursor") ? body.get("nextCursor").asText() : null;
+        }
+        assertNull(cursor);
+        assertEquals(5, seen.size());
+        assertEquals(List.of("OUT", "OUT", "IN", "IN", "IN"), seen.stream().map(line -> line.split(" ")[0]).toList());
+        assertTrue(seen.containsAll(List.of("OUT PAGE-A 6", "OUT PAGE-B 2", "IN PAGE-A 10", "IN PAGE-B 4", "IN PAGE-A 1")));
+
+        mockMvc.perform(get("/api/stock-ledger/tenant/{id}/page", tenant).param("type", "OUT"))
+            .andExpect(jsonPath("$.entries.length()").value(2))
+            .andExpect(jsonPath("$.entries[0].runningNumber").value("SO-PAGE-1"));
+    }
+
+    @Test
+    void backfillCopiesDocumentsFinalizedBeforeTheLedgerOnce() throws Exception {
+        long tenant = TENANT + 3;
+        saveSku(saveProduct(tenant, "Backfilled product"), "BACKFILL-A");
+        // Finalized without going through StockFinalizeService, as before the ledger existed.
+        StockIn old = stockInRepository.findById(saveStockIn(tenant, "SI-OLD-1", "BACKFILL-A", 7, "BACKFILL-A", 2))
+            .orElseThrow();
+        old.setFinalized(true);
+        stockInRepository.save(old);
+        saveStockIn(tenant, "SI-DRAFT-1", "BACKFILL-A", 5);
+
+        StockLedgerBackfill backfill = new StockLedgerBackfill(stockLedgerJdbcRepository);
+        backfill.run(null);
+        backfill.run(null);
+
+        mockMvc.perform(get("/api/stock-ledger/tenant/{id}/page", tenant))
+            .andExpect(jsonPath("$.entries.length()").value(2))
+            .andExpect(jsonPath("$.entries[0].runningNumber").value("SI-OLD-1"))
+            .andExpect(jsonPath("$.entries[1].runningNumber").value("SI-OLD-1"));
+    }
+
+    @Test
+    void unpagedListIsCappedAndLinksToTheRest() throws Exception {
+        long tenant = TENANT + 4;
+        List<Object[]> lines = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        for (int i = 0; i < 1001; i++) {
+            lines.add(new Object[] { tenant, 590_000L + i, "SI" + i, start.plusSeconds(i) });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO stock_ledger (tenant_id, type, record_id, detail_id, running_number,"
+            + " stock_date, product_name, quantity) VALUES (?, 'IN', 1, ?, ?, ?, 'Capped product', 1)", lines);
+
+        String link = mockMvc.perform(get("/api/stock-ledger/tenant/{id}", tenant))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Deprecation", "true"))
+            .andExpect(jsonPath("$.length()").value(1000))
+            .andExpect(jsonPath("$[0].runningNumber").value("SI1000"))
+            .andReturn().getResponse().getHeader("Link");
+        String next = link.substring(1, link.indexOf('>'));
+        mockMvc.perform(get(next))
+            .andExpect(jsonPath("$.entries.length()").value(1))
+            .andExpect(jsonPath("$.entries[0].runningNumber").value("SI0"))
+            .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/stock-ledger/tenant/{id}", TENANT + 5))
+            .andExpect(jsonPath("$.length()").value(0))
+            .andExpect(header().doesNotExist("Link"));
+    }
+
+    private void finalizeStockIn(Long stockInId) throws Exception {
+        mockMvc.perform(post("/api/stock-in/{id}/finalize", stockInId)).andExpect(status().isOk());
+    }
+
+    private Product saveProduct(long tenantId, String name) {
+        Product product = new Product();
+        product.setProductName(name);
+        product.setTenantid(tenantId);
+        return productRepository.save(product);
+    }
+
+    private ProductSku saveSku(Product product, String skuCode) {
+        ProductSku sku = new ProductSku();
+        sku.setSkuCode(skuCode);
+        sku.setQuantityAvailable(0);
+        sku.setTenantID(product.getTenantid());
+        sku.setProduct(product);
+        return productSkuRepository.save(sku);
+    }
+
+    // Lines are given as sku, quantity pairs.
+    private Long saveStockOut(long tenantId, String runningNumber, Object... lines) {
+        StockOut stockOut = new StockOut();
+        stockOut.setTenantId(tenantId);
+        stockOut.setDate(LocalDateTime.now());
+        stockOut.setRunningNumber(runningNumber);
+        for (int i = 0; i < lines.length; i += 2) {
+            StockOutDetail detail = new StockOutDetail();
+            detail.setProductName("Ledger product");
+            detail.setSku((String) lines[i]);
+            detail.setQuantity((Integer) lines[i + 1]);
+            detail.setStockOut(stockOut);
+            stockOut.getDetails().add(detail);
+        }
+        return stockOutRepository.save(stockOut).getId();
+    }
+
+    // Lines are given as sku, quantity pairs.
+    private Long saveStockIn(long tenantId, String runningNumber, Object... lines) {
+        StockIn stockIn = new StockIn();
+        stockIn.setTenantId(tenantId);
+        stockIn.setDate(LocalDateTime.now());
+        stockIn.setRunningNumber(runningNumber);
+        for (int i = 0; i < lines.length; i += 2) {
+            StockInDetail detail = new StockInDetail();
+            detail.setProductName("Ledger product");
+            detail.setSku((String) lines[i]);
+            detail.setQuantity((Integer) lines[i + 1]);
+            detail.setStockIn(stockIn);
+            stockIn.getDetails().add(detail);
+        }
+        return stockInRepository.save(stockIn).getId();
+    }
+}
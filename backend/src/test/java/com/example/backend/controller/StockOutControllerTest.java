@@ -0,0 +1,213 @@
+package com.example.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.backend.config.QueryBudget;
+import com.example.backend.entity.Product;
+import com.example.backend.entity.ProductSku;
+import com.example.backend.entity.StockOut;
+import com.example.backend.entity.StockOutDetail;
+import com.example.backend.entity.User;
+import com.example.backend.repository.ProductRepository;
+import com.example.backend.repository.ProductSkuRepository;
+import com.example.backend.repository.StockOutRepository;
+import com.example.backend.repository.UserRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StockOutControllerTest {
+
+    private static final long TENANT = 5701L;
+
+    // The summaries, the tenant's list version and its user directory, however many documents
+    // and lines the list covers.
+    private static final int LIST_BUDGET = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSkuRepository productSkuRepository;
+
+    @Autowired
+    private StockOutRepository stockOutRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void stockOutOverOnHandIsRefusedWithItsShortages() throws Exception {
+        Product product = saveProduct();
+        Long plenty = saveSku(product, "OUT-PLENTY", 10).getId();
+        Long scarce = saveSku(product, "OUT-SCARCE", 3).getId();
+        // OUT-SCARCE is short only once its two lines are added up.
+        Long stockOut = saveStockOut("SO-SHORT-1", "OUT-PLENTY", 4, "OUT-SCARCE", 2, "OUT-SCARCE", 2);
+
+        mockMvc.perform(post("/api/stock-out/{id}/finalize", stockOut))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("Insufficient stock"))
+            .andExpect(jsonPath("$.shortages.length()").value(1))
+            .andExpect(jsonPath("$.shortages[0].sku").value("OUT-SCARCE"))
+            .andExpect(jsonPath("$.shortages[0].requested").value(4))
+            .andExpect(jsonPath("$.shortages[0].available").value(3));
+
+        assertEquals(10, quantity(plenty));
+        assertEquals(3, quantity(scarce));
+        assertFalse(stockOutRepository.findById(stockOut).orElseThrow().isFinalized());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM stock_ledger WHERE type = 'OUT'"
+            + " AND record_id = ?", Integer.class, stockOut));
+    }
+
+    @Test
+    void lineTotalsOutsideTheQuantityRangeAreRefused() throws Exception {
+        Product product = saveProduct();
+        Long sku = saveSku(product, "OUT-RANGE", 10).getId();
+        // Each line fits an int, their sum does not.
+        Long overflowing = saveStockOut("SO-RANGE-1", "OUT-RANGE", Integer.MAX_VALUE, "OUT-RANGE", 2);
+        Long negative = saveStockOut("SO-RANGE-2", "OUT-RANGE", -5);
+
+        mockMvc.perform(post("/api/stock-out/{id}/finalize", overflowing))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("Invalid quantity"))
+            .andExpect(jsonPath("$.shortages[0].sku").value("OUT-RANGE"))
+            .andExpect(jsonPath("$.shortages[0].requested").value(Integer.MAX_VALUE + 2L));
+        mockMvc.perform(post("/api/stock-out/{id}/finalize", negative))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("Invalid quantity"));
+
+        assertEquals(10, quantity(sku));
+    }
+
+    @Test
+    void listIsOneSummaryRowPerDocumentWithoutLoadingLines() throws Exception {
+        long small = TENANT + 11;
+        long large = TENANT + 12;
+        Long clerk = saveUser(small, "Small clerk").getId();
+        saveDocument(small, "SO-LIST-1", clerk, 1, 4);
+        Long first = saveUser(large, "First clerk").getId();
+        Long second = saveUser(large, "Second clerk").getId();
+        for (int i = 0; i < 20; i++) {
+            saveDocument(large, "SO-LIST-" + (100 + i), i % 2 == 0 ? first : second, 5, 2);
+        }
+
+        long smallCount = QueryBudget.atMost(LIST_BUDGET, "stock-out list of 1",
+            () -> mockMvc.perform(get("/api/stock-out/tenant/{id}", small))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].runningNumber").value("SO-LIST-1"))
+                .andExpect(jsonPath("$[0].finalized").value(false))
+                .andExpect(jsonPath("$[0].lineCount").value(1))
+                .andExpect(jsonPath("$[0].totalQuantity").value(4))
+                .andExpect(jsonPath("$[0].createdBy").value(clerk))
+                .andExpect(jsonPath("$[0].createdByName").value("Small clerk"))
+                .andExpect(jsonPath("$[0].details").doesNotExist()));
+        long largeCount = QueryBudget.atMost(LIST_BUDGET, "stock-out list of 20",
+            () -> mockMvc.perform(get("/api/stock-out/tenant/{id}", large))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(20))
+                .andExpect(jsonPath("$[1].lineCount").value(5))
+                .andExpect(jsonPath("$[1].totalQuantity").value(10))
+                .andExpect(jsonPath("$[1].createdByName").value("Second clerk")));
+        assertEquals(smallCount, largeCount);
+    }
+
+    @Test
+    void detailLoadsTheLinesWithTheHeader() throws Exception {
+        Long id = saveDocument(TENANT + 13, "SO-DETAIL-1", null, 30, 1);
+
+        QueryBudget.atMost(1, "stock-out detail",
+            () -> mockMvc.perform(get("/api/stock-out/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.runningNumber").value("SO-DETAIL-1"))
+                .andExpect(jsonPath("$.details.length()").value(30))
+                .andExpect(jsonPath("$.details[29].sku").value("SO-DETAIL-29")));
+    }
+
+    private int quantity(Long skuId) {
+        return jdbcTemplate.queryForObject("SELECT quantity_available FROM product_skus WHERE id = ?",
+            Integer.class, skuId);
+    }
+
+    private Product saveProduct() {
+        Product product = new Product();
+        product.setProductName("Stock-out product");
+        product.setTenantid(TENANT);
+        return productRepository.save(product);
+    }
+
+    private ProductSku saveSku(Product product, String skuCode, int quantity) {
+        ProductSku sku = new ProductSku();
+        sku.setSkuCode(skuCode);
+        sku.setQuantityAvailable(quantity);
+        sku.setTenantID(product.getTenantid());
+        sku.setProduct(product);
+        return productSkuRepository.save(sku);
+    }
+
+    // Lines are given as sku, quantity pairs.
+    private Long saveStockOut(String runningNumber, Object... lines) {
+        StockOut stockOut = new StockOut();
+        stockOut.setTenantId(TENANT);
+        stockOut.setDate(LocalDateTime.now());
+        stockOut.setRunningNumber(runningNumber);
+        for (int i = 0; i < lines.length; i += 2) {
+            StockOutDetail detail = new StockOutDetail();
+            detail.setProductName("Stock-out product");
+            detail.setSku((String) lines[i]);
+            detail.setQuantity((Integer) lines[i + 1]);
+            detail.setStockOut(stockOut);
+            stockOut.getDetails().add(detail);
+        }
+        return stockOutRepository.save(stockOut).getId();
+    }
+
+    private User saveUser(long tenantId, String name) {
+        User user = new User();
+        user.setEmail(name.replace(' ', '.').toLowerCase() + "." + tenantId + "@example.com");
+        user.setPassword("not-a-hash");
+        user.setName(name);
+        user.setCompanyName("Summary company");
+        user.setTenantID(tenantId);
+        return userRepository.save(user);
+    }
+
+    // Every line gets the same quantity and a SKU named after the running number.
+    private Long saveDocument(long tenantId, String runningNumber, Long createdBy, int lines, int quantity) {
+        StockOut document = new StockOut();
+        document.setTenantId(tenantId);
+        document.setDate(LocalDateTime.now());
+        document.setRunningNumber(runningNumber);
+        document.setCreatedBy(createdBy);
+        for (int i = 0; i < lines; i++) {
+            StockOutDetail detail = new StockOutDetail();
+            detail.setProductName("Summary product");
+            detail.setSku(runningNumber.substring(0, runningNumber.lastIndexOf('-')) + "-" + i);
+            detail.setQuantity(quantity);
+            detail.setStockOut(document);
+            document.getDetails().add(detail);
+        }
+        return stockOutRepository.save(document).getId();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.servlet.http.Cookie;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.example.backend.service.AuthSessions;
+
+@SpringBootTest(properties = {
+    "auth.mode=token",
+    "auth.token.keys.k1=MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=",
+    "auth.token.active-key=k1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TokenAuthTest {
+
+    private static final long TENANT = 4601L;
+    private static final String EMAIL = "token@tenant4601.test";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void loginIssuesACookieThatIsVerifiedWithoutServerState() throws Exception {
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", EMAIL);
+        jdbcTemplate.update("INSERT INTO users (email, password, name, company_name, employment_status, is_deleted,"
+            + " tenantid) VALUES (?, ?, 'Token', 'Tenant 4601', 0, FALSE, ?)",
+            EMAIL, new BCryptPasswordEncoder(4).encode("secret"), TENANT);
+
+        MvcResult login = mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + EMAIL + "\",\"password\":\"secret\"}"))
+            .andReturn();
+        MvcResult loggedIn = mockMvc.perform(asyncDispatch(login))
+            .andExpect(status().isOk())
+            .andExpect(cookie().httpOnly(AuthSessions.COOKIE, true))
+            .andReturn();
+        assertNull(login.getRequest().getSession(false));
+        Cookie token = loggedIn.getResponse().getCookie(AuthSessions.COOKIE);
+
+        mockMvc.perform(get("/api/auth/me").cookie(token))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.email").value(EMAIL))
+            .andExpect(jsonPath("$.tenantID").value(TENANT));
+        mockMvc.perform(get("/api/auth/me").header("Authorization", "Bearer " + token.getValue()))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/auth/logout").cookie(token))
+            .andExpect(status().isOk())
+            .andExpect(cookie().maxAge(AuthSessions.COOKIE, 0));
+        mockMvc.perform(get("/api/auth/me").cookie(token))
+            .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+// Runs the migrations on a real PostgreSQL, seeds a multi-tenant dataset and checks that the
+// SQL behind the hot repository methods is planned without a sequential scan.
+// Skipped when Docker is not available.
+@Testcontainers(disabledWithoutDocker = true)
+class QueryPlanTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static JdbcTemplate jdbc;
+
+    // Mirrors the statements issued by the repository methods named in each comment.
+    private static final List<String> QUERIES = List.of(
+        // ProductSkuRepository.findByTenantIDAndSkuCodeInOrderByIdAsc (SKU cache, finalize)
+        "SELECT * FROM product_skus WHERE tenantid = 17 AND sku_code IN ('SKU-17-1', 'SKU-17-2') ORDER BY id",
+        // ProductSkuRepository.findByTenantID
+        "SELECT * FROM product_skus WHERE tenantid = 17",
+        // ProductSkuRepository.findByProduct_Id
+        "SELECT * FROM product_skus WHERE product_id = 1700",
+        // ProductRepository.findBytenantid
+        "SELECT * FROM products WHERE tenantid = 17",
+        // UserRepository.findBytenantID
+        "SELECT * FROM users WHERE tenantid = 17",
+        // StockInRepository.findBytenantId / StockOutRepository.findBytenantId
+        "SELECT * FROM stock_in WHERE tenant_id = 17",
+        "SELECT * FROM stock_out WHERE tenant_id = 17",
+        // findFirstBytenantIdOrderByIdDesc (running number seeding)
+        "SELECT * FROM stock_in WHERE tenant_id = 17 ORDER BY id DESC LIMIT 1",
+        "SELECT * FROM stock_out WHERE tenant_id = 17 ORDER BY id DESC LIMIT 1",
+        // StockInDetailRepository.findByStockIn_Id / sumQuantityBySku
+        "SELECT * FROM stock_in_details WHERE stock_in_id = 1234",
+        "SELECT sku, SUM(quantity) FROM stock_out_details WHERE stock_out_id = 1234 GROUP BY sku",
+        // StockLedgerJdbcRepository.find, first page and a keyset page, plus the SKU filter
+        "SELECT * FROM stock_ledger WHERE tenant_id = 17 ORDER BY stock_date DESC, id DESC LIMIT 51",
+        "SELECT * FROM stock_ledger WHERE tenant_id = 17 AND (stock_date < now() - interval '10 days'"
+            + " OR (stock_date = now() - interval '10 days' AND id < 5000)) ORDER BY stock_date DESC, id DESC LIMIT 51",
+        "SELECT * FROM stock_ledger WHERE tenant_id = 17 AND sku = 'SKU-17-3' ORDER BY stock_date DESC, id DESC LIMIT 51"
+    );
+
+    @BeforeAll
+    static void migrateAndSeed() {
+        Flyway.configure()
+            .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+            .load()
+            .migrate();
+        jdbc = new JdbcTemplate(new DriverManagerDataSource(
+            POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword()));
+
+        // 200 tenants, each with 10 users, 50 products of 4 SKUs, 100 documents of 5 lines per type.
+        jdbc.execute("INSERT INTO users (email, password, name, company_name, employment_status, is_deleted, tenantid)"
+            + " SELECT 'user' || g || '@example.com', 'x', 'User ' || g, 'Company', 0, false, g % 200"
+            + " FROM generate_series(1, 2000) g");
+        jdbc.execute("INSERT INTO products (id, product_name, tenantid)"
+            + " OVERRIDING SYSTEM VALUE SELECT g, 'Product ' || g, g % 200 FROM generate_series(1, 10000) g");
+        jdbc.execute("INSERT INTO product_skus (sku_code, quantity_available, tenantid, product_id)"
+            + " SELECT 'SKU-' || (p % 200) || '-' || ((p / 200) * 4 + s), 100, p % 200, p"
+            + " FROM generate_series(1, 10000) p, generate_series(1, 4) s");
+        for (String type : new String[] { "in", "out" }) {
+            jdbc.execute("INSERT INTO stock_" + type + " (id, running_number, stock_date, tenant_id, finalized)"
+                + " OVERRIDING SYSTEM VALUE SELECT g, 'S' || g, now() - (g % 365) * interval '1 day', g % 200, true"
+                + " FROM generate_series(1, 20000) g");
+            jdbc.execute("INSERT INTO stock_" + type + "_details (product_name, sku, quantity, stock_" + type + "_id)"
+                + " SELECT 'Product', 'SKU-' || (g % 200) || '-' || l, l, g"
+                + " FROM generate_series(1, 20000) g, generate_series(1, 5) l");
+        }
+        jdbc.execute("INSERT INTO stock_ledger (tenant_id, type, record_id, detail_id, running_number, stock_date,"
+            + " product_name, sku, quantity) SELECT g % 200, 'IN', g, g, 'S' || g, now() - (g % 365) * interval '1 day',"
+            + " 'Product', 'SKU-' || (g % 200) || '-' || (g % 400), 1 FROM generate_series(1, 200000) g");
+        jdbc.execute("ANALYZE");
+    }
+
+    @Test
+    void hotQueriesUseIndexes() {
+        for (String sql : QUERIES) {
+            String plan = String.join("\n", jdbc.queryForList("EXPLAIN " + sql, String.class));
+            assertFalse(plan.contains("Seq Scan"), () -> "Sequential scan for: " + sql + "\n" + plan);
+        }
+    }
+}
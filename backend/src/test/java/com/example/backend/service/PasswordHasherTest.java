@@ -0,0 +1,57 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordHasherTest {
+
+    @Test
+    void refusesWorkOnceTheQueueIsFull() throws Exception {
+        PasswordHasher hasher = new PasswordHasher(12, 1, 1, 3, new SimpleMeterRegistry());
+        try {
+            CompletableFuture<String> running = hasher.encode("first");
+            CompletableFuture<String> queued = hasher.encode("second");
+
+            PasswordHashingBusyException busy = assertThrows(PasswordHashingBusyException.class,
+                () -> hasher.encode("third"));
+            assertEquals(3, busy.getRetryAfterSeconds());
+
+            String first = running.get(10, TimeUnit.SECONDS);
+            String second = queued.get(10, TimeUnit.SECONDS);
+            assertTrue(hasher.matches("first", first).get(10, TimeUnit.SECONDS));
+            assertFalse(hasher.matches("first", second).get(10, TimeUnit.SECONDS));
+        } finally {
+            hasher.shutdown();
+        }
+    }
+
+    @Test
+    void upgradesHashesBelowTheConfiguredStrength() throws Exception {
+        PasswordHasher hasher = new PasswordHasher(6, 1, 10, 1, new SimpleMeterRegistry());
+        try {
+            String weak = new BCryptPasswordEncoder(4).encode("secret");
+            CompletableFuture<String> stored = new CompletableFuture<>();
+            hasher.upgradeIfNeeded("secret", weak, stored::complete, Runnable::run);
+
+            String upgraded = stored.get(10, TimeUnit.SECONDS);
+            assertTrue(upgraded.startsWith("$2a$06$"));
+            assertTrue(hasher.matches("secret", upgraded).get(10, TimeUnit.SECONDS));
+
+            CompletableFuture<String> untouched = new CompletableFuture<>();
+            hasher.upgradeIfNeeded("secret", upgraded, untouched::complete, Runnable::run);
+            assertFalse(untouched.isDone());
+        } finally {
+            hasher.shutdown();
+        }
+    }
+}
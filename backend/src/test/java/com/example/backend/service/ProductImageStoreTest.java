@@ -0,0 +1,105 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.backend.dto.ImageVariant;
+
+class ProductImageStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void identicalUploadsAreStoredOnceWithResizedVariants() throws Exception {
+        ProductImageStore store = new ProductImageStore(directory.toString(), 1, 4, Duration.ofMinutes(1));
+        byte[] png = png(2400, 1600);
+
+        String first = store.store(new ByteArrayInputStream(png));
+        String second = store.store(new ByteArrayInputStream(png));
+
+        assertEquals(first, second);
+        assertTrue(first.matches("/uploads/products/[0-9a-f]{64}\\.png"), first);
+        String hash = first.substring(first.lastIndexOf('/') + 1, first.indexOf('.'));
+
+        for (ImageVariant variant : ImageVariant.values()) {
+            Path file = directory.resolve(variant.filename(hash));
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (!Files.exists(file) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            BufferedImage image = ImageIO.read(file.toFile());
+            assertEquals(variant.getSize(), image.getWidth());
+            assertEquals(Math.round(variant.getSize() * 2 / 3.0), image.getHeight());
+        }
+        store.shutdown();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1 + ImageVariant.values().length, files.count());
+        }
+    }
+
+    @Test
+    void onlyWrittenVariantsAreListed() throws Exception {
+        ProductImageStore store = new ProductImageStore(directory.toString(), 1, 4, Duration.ofMinutes(1));
+        byte[] webp = "RIFF\0\0\0\0WEBPVP8 ".getBytes(StandardCharsets.US_ASCII);
+
+        String webpPath = store.store(new ByteArrayInputStream(webp));
+        assertTrue(webpPath.endsWith(".webp"), webpPath);
+        assertEquals(Map.of(), ImageVariant.pathsFor(webpPath));
+
+        // Looked up before the upload, so all three are cached as missing until the render.
+        byte[] png = png(400, 200);
+        String pngPath = ProductImageStore.URL_PREFIX
+            + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(png)) + ".png";
+        assertEquals(Map.of(), store.existingVariants(ImageVariant.pathsFor(pngPath)));
+
+        assertEquals(pngPath, store.store(new ByteArrayInputStream(png)));
+        store.shutdown();
+        Map<String, String> variants = store.existingVariants(ImageVariant.pathsFor(pngPath));
+        assertEquals(ImageVariant.pathsFor(pngPath), variants);
+        assertEquals(3, variants.size());
+    }
+
+    @Test
+    void missingVariantsAreNotLookedForAgainUntilTheRecheck() throws Exception {
+        ProductImageStore store = new ProductImageStore(directory.toString(), 1, 4, Duration.ofMillis(200));
+        String hash = "a".repeat(64);
+        String path = ProductImageStore.URL_PREFIX + hash + ".jpg";
+        assertEquals(Map.of(), store.existingVariants(ImageVariant.pathsFor(path)));
+
+        // Rendered by another node sharing the directory.
+        for (ImageVariant variant : ImageVariant.values()) {
+            Files.write(directory.resolve(variant.filename(hash)), new byte[] { 1 });
+        }
+        assertEquals(Map.of(), store.existingVariants(ImageVariant.pathsFor(path)));
+
+        Thread.sleep(300);
+        assertEquals(ImageVariant.pathsFor(path), store.existingVariants(ImageVariant.pathsFor(path)));
+        store.shutdown();
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
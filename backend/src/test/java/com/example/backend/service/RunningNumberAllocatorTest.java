@@ -0,0 +1,192 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.backend.config.QueryBudget;
+import com.example.backend.entity.StockIn;
+import com.example.backend.entity.StockOut;
+import com.example.backend.repository.DocumentCounterRepository;
+import com.example.backend.repository.StockInRepository;
+import com.example.backend.repository.StockOutRepository;
+
+// Two pooled connections, so a thread holding two at once would starve the others.
+@SpringBootTest(properties = {
+    "spring.datasource.hikari.maximum-pool-size=2",
+    "spring.datasource.hikari.connection-timeout=3000"
+})
+@ActiveProfiles("test")
+class RunningNumberAllocatorTest {
+
+    private static final long TENANT = 5401L;
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 40;
+
+    @Autowired
+    private RunningNumberAllocator runningNumberAllocator;
+
+    @Autowired
+    private DocumentCounterRepository documentCounterRepository;
+
+    @Autowired
+    private StockInRepository stockInRepository;
+
+    @Autowired
+    private StockOutRepository stockOutRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentAllocationAcrossNodesNeverRepeatsANumber() throws Exception {
+        // A second allocator stands in for another node sharing the counter row.
+        RunningNumberAllocator otherNode = newNode(7);
+        List<Callable<List<String>>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            RunningNumberAllocator allocator = i % 2 == 0 ? runningNumberAllocator : otherNode;
+            tasks.add(() -> {
+                List<String> numbers = new ArrayList<>();
+                for (int n = 0; n < PER_THREAD; n++) {
+                    numbers.add(allocator.next(RunningNumberAllocator.STOCK_IN, TENANT));
+                }
+                return numbers;
+            });
+        }
+
+        Set<String> issued = new HashSet<>();
+        long highest = 0;
+        for (List<String> numbers : runAll(tasks)) {
+            for (String number : numbers) {
+                assertTrue(issued.add(number), "duplicate " + number);
+                highest = Math.max(highest, RunningNumberAllocator.parse(number));
+            }
+        }
+        assertEquals(THREADS * PER_THREAD, issued.size());
+
+        // A restarted node skips whatever the others still hold: a gap, never a repeat.
+        long counter = documentCounterRepository
+            .findByTenantIdAndDocType(TENANT, RunningNumberAllocator.STOCK_IN).orElseThrow().getNextValue();
+        assertTrue(counter > highest);
+        String restarted = newNode(20).next(RunningNumberAllocator.STOCK_IN, TENANT);
+        assertEquals(counter, RunningNumberAllocator.parse(restarted));
+        assertTrue(!issued.contains(restarted));
+    }
+
+    @Test
+    void firstNumbersForManyTenantsAtOnceDoNotStarveThePool() throws Exception {
+        List<Callable<String>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            long tenantId = TENANT + 10 + i;
+            tasks.add(() -> runningNumberAllocator.next(RunningNumberAllocator.STOCK_OUT, tenantId));
+        }
+        for (String number : runAll(tasks)) {
+            assertEquals("SO000001", number);
+        }
+    }
+
+    @Test
+    void numbersArePaddedToSixDigitsUnlessTheTenantsAreAlreadyWider() {
+        saveStockIn(TENANT + 1, "SI045");
+        saveStockIn(TENANT + 2, "SI00000046");
+
+        assertEquals("SI000046", runningNumberAllocator.peek(RunningNumberAllocator.STOCK_IN, TENANT + 1));
+        assertEquals("SI000046", runningNumberAllocator.next(RunningNumberAllocator.STOCK_IN, TENANT + 1));
+        assertEquals("SI000047", runningNumberAllocator.next(RunningNumberAllocator.STOCK_IN, TENANT + 1));
+        assertEquals("SI00000047", runningNumberAllocator.next(RunningNumberAllocator.STOCK_IN, TENANT + 2));
+        assertEquals("SI000001", runningNumberAllocator.peek(RunningNumberAllocator.STOCK_IN, TENANT + 3));
+        assertEquals("SI000001", runningNumberAllocator.next(RunningNumberAllocator.STOCK_IN, TENANT + 3));
+    }
+
+    @Test
+    void peekReadsOnlyTheCounterOnceThereIsOne() throws Exception {
+        saveStockIn(TENANT + 4, "SI00000123");
+        runningNumberAllocator.next(RunningNumberAllocator.STOCK_IN, TENANT + 4);
+
+        // A node without a block of its own: one counter read, no document lookup.
+        RunningNumberAllocator otherNode = newNode(20);
+        List<String> peeked = new ArrayList<>();
+        QueryBudget.atMost(1, "peek with a counter",
+            () -> peeked.add(otherNode.peek(RunningNumberAllocator.STOCK_IN, TENANT + 4)));
+        assertEquals(List.of("SI00000144"), peeked);
+    }
+
+    @Test
+    void migrationWidensNumbersIssuedAtTheOldDefault() {
+        long tenant = TENANT + 19;
+        saveStockIn(tenant, "SI-2024-7");
+        saveStockIn(tenant, "SI1234567");
+        saveStockIn(tenant, "SI999");
+        saveStockIn(tenant, "SI1000");
+        saveStockOut(tenant, "SO42");
+
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V6__running_number_width.sql"))
+            .execute(dataSource);
+
+        assertEquals(List.of("SI-2024-7", "SI000999", "SI001000", "SI1234567"), jdbcTemplate.queryForList(
+            "SELECT running_number FROM stock_in WHERE tenant_id = ? ORDER BY running_number", String.class, tenant));
+        assertEquals("SO000042", jdbcTemplate.queryForObject(
+            "SELECT running_number FROM stock_out WHERE tenant_id = ?", String.class, tenant));
+        assertEquals("SI001001", runningNumberAllocator.next(RunningNumberAllocator.STOCK_IN, tenant));
+    }
+
+    private RunningNumberAllocator newNode(int blockSize) {
+        return new RunningNumberAllocator(documentCounterRepository, stockInRepository, stockOutRepository,
+            transactionManager, blockSize, 6);
+    }
+
+    private void saveStockOut(long tenantId, String runningNumber) {
+        StockOut stockOut = new StockOut();
+        stockOut.setTenantId(tenantId);
+        stockOut.setDate(LocalDateTime.now());
+        stockOut.setRunningNumber(runningNumber);
+        stockOutRepository.save(stockOut);
+    }
+
+    private void saveStockIn(long tenantId, String runningNumber) {
+        StockIn stockIn = new StockIn();
+        stockIn.setTenantId(tenantId);
+        stockIn.setDate(LocalDateTime.now());
+        stockIn.setRunningNumber(runningNumber);
+        stockInRepository.save(stockIn);
+    }
+
+    private static <T> List<T> runAll(List<Callable<T>> tasks) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(tasks.size());
+        try {
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.backend.dto.Session;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class SessionTokenServiceTest {
+
+    private static final String OLD_SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+    private static final String NEW_SECRET = Base64.getEncoder().encodeToString("n".repeat(32).getBytes());
+    private static final Session SESSION = new Session(7L, "clerk@example.test", "Clerk", "Acme", 42L, 1);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final InMemoryTokenDenylist denylist = new InMemoryTokenDenylist();
+    private final Clock clock = Clock.fixed(Instant.parse("2026-10-18T08:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    void roundTripsTheSessionAndRejectsTampering() {
+        SessionTokenService service = service(Map.of("k1", OLD_SECRET), "k1", clock);
+        String token = service.issue(SESSION);
+
+        Session verified = service.verify(token).orElseThrow();
+        assertEquals(7L, verified.getUserId());
+        assertEquals(42L, verified.getTenantID());
+        assertEquals(1, verified.getEmploymentStatus());
+        assertEquals("Acme", verified.getCompanyName());
+
+        String[] parts = token.split("\\.");
+        String forged = Base64.getUrlEncoder().withoutPadding().encodeToString(
+            new String(Base64.getUrlDecoder().decode(parts[1])).replace("42", "43").getBytes());
+        assertFalse(service.verify(parts[0] + "." + forged + "." + parts[2]).isPresent());
+        assertFalse(service.verify("k9." + parts[1] + "." + parts[2]).isPresent());
+        assertFalse(service.verify("garbage").isPresent());
+    }
+
+    @Test
+    void oldKeyKeepsVerifyingAfterRotationUntilRemoved() {
+        String oldToken = service(Map.of("k1", OLD_SECRET), "k1", clock).issue(SESSION);
+
+        SessionTokenService rotated = service(Map.of("k1", OLD_SECRET, "k2", NEW_SECRET), "k2", clock);
+        assertTrue(rotated.verify(oldToken).isPresent());
+        assertTrue(rotated.issue(SESSION).startsWith("k2."));
+
+        SessionTokenService retired = service(Map.of("k2", NEW_SECRET), "k2", clock);
+        assertFalse(retired.verify(oldToken).isPresent());
+    }
+
+    @Test
+    void expiredAndRevokedTokensAreRejected() {
+        SessionTokenService service = service(Map.of("k1", OLD_SECRET), "k1", clock);
+        String token = service.issue(SESSION);
+
+        Clock later = Clock.offset(clock, Duration.ofHours(2));
+        assertFalse(service(Map.of("k1", OLD_SECRET), "k1", later).verify(token).isPresent());
+
+        service.revoke(token);
+        assertFalse(service.verify(token).isPresent());
+        assertTrue(service.verify(service.issue(SESSION)).isPresent());
+    }
+
+    @Test
+    void firstRevokedTokenStaysRejectedAfterManyMoreLogouts() {
+        SessionTokenService service = service(Map.of("k1", OLD_SECRET), "k1", Clock.systemUTC());
+        String first = service.issue(SESSION);
+        service.revoke(first);
+
+        // Logging in and out repeatedly must not push the first revocation out of the list.
+        for (int i = 0; i < 20_000; i++) {
+            service.revoke(service.issue(SESSION));
+        }
+        assertFalse(service.verify(first).isPresent());
+    }
+
+    private SessionTokenService service(Map<String, String> secrets, String activeKey, Clock clock) {
+        return new SessionTokenService(secrets, activeKey, Duration.ofHours(1), denylist, objectMapper, clock);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.backend.dto.StockLedgerFilter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class StockExportServiceTest {
+
+    private static final long TENANT = 4201L;
+    private static final int ROWS = 2500;
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Autowired
+    private StockExportService stockExportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void seedLedger() {
+        jdbcTemplate.update("DELETE FROM stock_ledger WHERE tenant_id = ?", TENANT);
+        jdbcTemplate.batchUpdate("INSERT INTO stock_ledger (tenant_id, type, record_id, detail_id, running_number,"
+            + " stock_date, product_name, sku, quantity) VALUES (?, 'IN', ?, ?, 'SI000001',"
+            + " ?, 'Shirt, \"red\"', 'EXP-1', 1)",
+            IntStream.range(0, ROWS)
+                .mapToObj(i -> new Object[] { TENANT, 4_200_000L + i, 4_200_000L + i, START.plusMinutes(i) })
+                .toList());
+    }
+
+    @Test
+    void csvHasHeaderEscapedFieldsAndEveryRow() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        stockExportService.writeLedger(TENANT, new StockLedgerFilter(), ExportFormat.CSV, false, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(ROWS + 1, lines.size());
+        assertTrue(lines.get(0).startsWith("type,recordId,runningNumber,date"));
+        assertTrue(lines.get(1).contains(",\"Shirt, \"\"red\"\"\",EXP-1,1,"));
+        // Newest first, as in the ledger page endpoint.
+        assertTrue(lines.get(1).contains("2026-01-02T17:39"));
+    }
+
+    @Test
+    void gzippedNdjsonRoundTrips() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        stockExportService.writeLedger(TENANT, new StockLedgerFilter(), ExportFormat.NDJSON, true, out);
+
+        byte[] raw = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).readAllBytes();
+        List<String> lines = new String(raw, StandardCharsets.UTF_8).lines().toList();
+        assertEquals(ROWS, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals("EXP-1", first.get("sku").asText());
+        assertEquals("Shirt, \"red\"", first.get("productName").asText());
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.backend.entity.Product;
+import com.example.backend.entity.ProductSku;
+import com.example.backend.entity.StockIn;
+import com.example.backend.entity.StockInDetail;
+import com.example.backend.entity.StockOut;
+import com.example.backend.entity.StockOutDetail;
+import com.example.backend.repository.ProductRepository;
+import com.example.backend.repository.ProductSkuRepository;
+import com.example.backend.repository.StockInRepository;
+import com.example.backend.repository.StockOutRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class StockFinalizeConcurrencyTest {
+
+    private static final long TENANT = 4001L;
+    private static final String[] HOT_SKUS = { "HOT-A", "HOT-B", "HOT-C" };
+    private static final int INITIAL = 100;
+    private static final int STOCK_INS = 150;
+    private static final int STOCK_OUTS = 250;
+
+    @Autowired
+    private StockFinalizeService stockFinalizeService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSkuRepository productSkuRepository;
+
+    @Autowired
+    private StockInRepository stockInRepository;
+
+    @Autowired
+    private StockOutRepository stockOutRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void parallelFinalizesOnHotSkusKeepExactTotals() throws Exception {
+        Product product = new Product();
+        product.setProductName("Hot product");
+        product.setTenantid(TENANT);
+        product = productRepository.save(product);
+        for (String code : HOT_SKUS) {
+            ProductSku sku = new ProductSku();
+            sku.setSkuCode(code);
+            sku.setQuantityAvailable(INITIAL);
+            sku.setTenantID(TENANT);
+            sku.setProduct(product);
+            productSkuRepository.save(sku);
+        }
+
+        // Every stock-in adds one of each hot SKU; every stock-out takes one A and two B,
+        // so B runs out part way and later stock-outs must roll back without touching A.
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < STOCK_INS; i++) {
+            Long id = saveStockIn(i).getId();
+            tasks.add(() -> {
+                stockFinalizeService.finalizeStockIn(id);
+                return true;
+            });
+        }
+        List<Long> stockOutIds = new ArrayList<>();
+        for (int i = 0; i < STOCK_OUTS; i++) {
+            Long id = saveStockOut(i).getId();
+            stockOutIds.add(id);
+            tasks.add(() -> {
+                try {
+                    stockFinalizeService.finalizeStockOut(id);
+                    return true;
+                } catch (StockFinalizeException ex) {
+                    return false;
+                }
+            });
+        }
+        Collections.shuffle(tasks);
+
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (Callable<Boolean> task : tasks) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+        for (Future<Boolean> result : results) {
+            result.get();
+        }
+        pool.shutdown();
+
+        int finalizedOuts = 0;
+        for (Long id : stockOutIds) {
+            if (stockOutRepository.findById(id).orElseThrow().isFinalized()) {
+                finalizedOuts++;
+            }
+        }
+
+        assertEquals(INITIAL + STOCK_INS - finalizedOuts, quantity("HOT-A"));
+        assertEquals(INITIAL + STOCK_INS - 2 * finalizedOuts, quantity("HOT-B"));
+        assertEquals(INITIAL + STOCK_INS, quantity("HOT-C"));
+        assertTrue(quantity("HOT-B") >= 0);
+        assertTrue(finalizedOuts < STOCK_OUTS, "some stock-outs should have hit the shortage");
+
+        Integer ledgerLines = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM stock_ledger WHERE tenant_id = ?", Integer.class, TENANT);
+        assertEquals(STOCK_INS * HOT_SKUS.length + finalizedOuts * 2, ledgerLines);
+    }
+
+    private StockIn saveStockIn(int n) {
+        StockIn stockIn = new StockIn();
+        stockIn.setRunningNumber("SI-LOAD-" + n);
+        stockIn.setDate(LocalDateTime.now());
+        stockIn.setTenantId(TENANT);
+        for (String code : HOT_SKUS) {
+            StockInDetail detail = new StockInDetail();
+            detail.setProductName("Hot product");
+            detail.setSku(code);
+            detail.setQuantity(1);
+            detail.setStockIn(stockIn);
+            stockIn.getDetails().add(detail);
+        }
+        return stockInRepository.save(stockIn);
+    }
+
+    private StockOut saveStockOut(int n) {
+        StockOut stockOut = new StockOut();
+        stockOut.setRunningNumber("SO-LOAD-" + n);
+        stockOut.setDate(LocalDateTime.now());
+        stockOut.setTenantId(TENANT);
+        stockOut.getDetails().add(stockOutDetail(stockOut, "HOT-A", 1));
+        stockOut.getDetails().add(stockOutDetail(stockOut, "HOT-B", 2));
+        return stockOutRepository.save(stockOut);
+    }
+
+    private static StockOutDetail stockOutDetail(StockOut stockOut, String code, int quantity) {
+        StockOutDetail detail = new StockOutDetail();
+        detail.setProductName("Hot product");
+        detail.setSku(code);
+        detail.setQuantity(quantity);
+        detail.setStockOut(stockOut);
+        return detail;
+    }
+
+    private int quantity(String code) {
+        return jdbcTemplate.queryForObject(
+            "SELECT quantity_available FROM product_skus WHERE tenantid = ? AND sku_code = ?",
+            Integer.class, TENANT, code);
+    }
+}
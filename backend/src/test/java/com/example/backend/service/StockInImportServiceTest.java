@@ -0,0 +1,90 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.backend.dto.StockImportReport;
+import com.example.backend.entity.Product;
+import com.example.backend.entity.ProductSku;
+import com.example.backend.entity.StockIn;
+import com.example.backend.repository.ProductRepository;
+import com.example.backend.repository.ProductSkuRepository;
+import com.example.backend.repository.StockInRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class StockInImportServiceTest {
+
+    private static final long TENANT = 4101L;
+    private static final int VALID_ROWS = 1200;
+
+    @Autowired
+    private StockInImportService stockInImportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSkuRepository productSkuRepository;
+
+    @Autowired
+    private StockInRepository stockInRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void importsValidRowsAcrossChunksAndReportsTheRest() throws Exception {
+        Product product = new Product();
+        product.setProductName("Imported product");
+        product.setTenantid(TENANT);
+        product = productRepository.save(product);
+        for (String code : new String[] { "IMP-A", "IMP-B" }) {
+            ProductSku sku = new ProductSku();
+            sku.setSkuCode(code);
+            sku.setQuantityAvailable(0);
+            sku.setTenantID(TENANT);
+            sku.setProduct(product);
+            productSkuRepository.save(sku);
+        }
+        StockIn stockIn = new StockIn();
+        stockIn.setRunningNumber("SI-IMPORT");
+        stockIn.setDate(LocalDateTime.now());
+        stockIn.setTenantId(TENANT);
+        stockIn = stockInRepository.save(stockIn);
+
+        StringBuilder csv = new StringBuilder("sku,quantity,productName\n");
+        for (int i = 0; i < VALID_ROWS; i++) {
+            csv.append(i % 2 == 0 ? "IMP-A,1\n" : "IMP-B,2,\"Named, with comma\"\n");
+        }
+        csv.append("IMP-UNKNOWN,5\n");
+        csv.append("IMP-A,-3\n");
+        csv.append("IMP-A,abc\n");
+        csv.append("\n");
+
+        StockImportReport report = stockInImportService.importCsv(stockIn.getId(),
+            new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(VALID_ROWS, report.getImported());
+        assertEquals(3, report.getRejected());
+        assertEquals(3, report.getErrors().size());
+        assertFalse(report.isErrorsTruncated());
+        assertEquals(VALID_ROWS, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM stock_in_details WHERE stock_in_id = ?", Integer.class, stockIn.getId()));
+        assertEquals(VALID_ROWS / 2 * 3, jdbcTemplate.queryForObject(
+            "SELECT SUM(quantity) FROM stock_in_details WHERE stock_in_id = ?", Integer.class, stockIn.getId()));
+        assertEquals(VALID_ROWS / 2, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM stock_in_details WHERE stock_in_id = ? AND product_name = 'Named, with comma'",
+            Integer.class, stockIn.getId()));
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.backend.dto.StockLevel;
+import com.example.backend.dto.StockLevelEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class StockLevelFeedTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private StockLevelFeed feed;
+
+    @AfterEach
+    void shutdown() {
+        feed.shutdown();
+    }
+
+    @Test
+    void eventsReachOnlyTheTenantsSubscribers() throws Exception {
+        feed = feed(10, 8);
+        RecordingEmitter first = new RecordingEmitter(null);
+        RecordingEmitter second = new RecordingEmitter(null);
+        RecordingEmitter otherTenant = new RecordingEmitter(null);
+        feed.subscribe(1L, first);
+        feed.subscribe(1L, second);
+        feed.subscribe(2L, otherTenant);
+
+        feed.onStockLevels(event(1L, "SI000007"));
+
+        awaitFrames(first, 2);
+        awaitFrames(second, 2);
+        assertTrue(first.text().contains("event:stock-levels"));
+        assertTrue(first.text().contains("\"runningNumber\":\"SI000007\""));
+        assertTrue(first.text().contains("\"skuId\":11,\"quantityAvailable\":4,\"version\":3"));
+        Thread.sleep(100);
+        assertEquals(1, otherTenant.frames.size());
+    }
+
+    @Test
+    void slowSubscriberIsDisconnectedWithoutHoldingUpOthers() throws Exception {
+        feed = feed(10, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter stuck = new RecordingEmitter(release);
+        RecordingEmitter healthy = new RecordingEmitter(null);
+        feed.subscribe(1L, stuck);
+        feed.subscribe(1L, healthy);
+        try {
+            awaitFrames(healthy, 1);
+            for (int i = 0; i < 5; i++) {
+                feed.onStockLevels(event(1L, "SO00000" + i));
+                awaitFrames(healthy, i + 2);
+            }
+            assertEquals(1, feed.subscriberCount());
+            assertEquals(1.0, meterRegistry.counter("stock.feed.evictions").count());
+            assertFalse(stuck.completed);
+        } finally {
+            release.countDown();
+        }
+        // The evicted emitter is completed by its own drain once the blocked send returns.
+        awaitCompleted(stuck);
+    }
+
+    @Test
+    void blockedSendIsEvictedAndItsThreadReplaced() throws Exception {
+        feed = new StockLevelFeed(10, 8, 1, Duration.ofMillis(100), 4, Duration.ofMinutes(1), Duration.ofMinutes(1),
+            new ObjectMapper(), meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter stuck = new RecordingEmitter(release);
+        RecordingEmitter healthy = new RecordingEmitter(null);
+        feed.subscribe(1L, stuck);
+        try {
+            // The only sender thread is blocked on the stuck client; the healthy one is served
+            // once the send timeout has passed and a thread takes the blocked one's place.
+            feed.subscribe(1L, healthy);
+            awaitFrames(healthy, 1);
+            feed.onStockLevels(event(1L, "SI000001"));
+            awaitFrames(healthy, 2);
+            assertEquals(1, feed.subscriberCount());
+            assertEquals(2, feed.senderPoolSize());
+            assertEquals(1.0, meterRegistry.counter("stock.feed.evictions").count());
+        } finally {
+            release.countDown();
+        }
+        awaitCompleted(stuck);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (feed.senderPoolSize() > 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, feed.senderPoolSize());
+    }
+
+    @Test
+    void subscribersAreCapped() {
+        feed = feed(1, 8);
+        feed.subscribe(1L, new RecordingEmitter(null));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+            () -> feed.subscribe(2L, new RecordingEmitter(null)));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatusCode());
+        assertFalse(feed.hasSubscribers(2L));
+    }
+
+    private StockLevelFeed feed(int maxSubscribers, int bufferSize) {
+        return new StockLevelFeed(maxSubscribers, bufferSize, 2, Duration.ofMinutes(1), 4, Duration.ofMinutes(1),
+            Duration.ofMinutes(1), new ObjectMapper(), meterRegistry);
+    }
+
+    private static StockLevelEvent event(Long tenantId, String runningNumber) {
+        return new StockLevelEvent(tenantId, "IN", 7L, runningNumber, List.of(new StockLevel(11L, 4, 3L)));
+    }
+
+    private static void awaitFrames(RecordingEmitter emitter, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (emitter.frames.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, emitter.frames.size());
+    }
+
+    private static void awaitCompleted(RecordingEmitter emitter) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!emitter.completed && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(emitter.completed);
+    }
+
+    // Records what would be written to the client; optionally blocks like a socket nobody reads.
+    private static class RecordingEmitter extends SseEmitter {
+        private final CountDownLatch release;
+        private final List<Set<DataWithMediaType>> frames = new CopyOnWriteArrayList<>();
+        private volatile boolean completed;
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> frame) {
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            frames.add(frame);
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+            super.complete();
+        }
+
+        String text() {
+            StringBuilder text = new StringBuilder();
+            frames.forEach(frame -> frame.forEach(part -> text.append(part.getData())));
+            return text.toString();
+        }
+    }
+}
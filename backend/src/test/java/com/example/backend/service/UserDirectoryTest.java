@@ -0,0 +1,86 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserDirectoryTest {
+
+    private static final long TENANT = 4701L;
+    private static final long OTHER_TENANT = 4702L;
+
+    @Autowired
+    private UserDirectory userDirectory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seedUsers() {
+        jdbcTemplate.update("DELETE FROM users WHERE tenantid IN (?, ?)", TENANT, OTHER_TENANT);
+        insertUser("ana@tenant4701.test", "Ana", TENANT);
+        insertUser("ben@tenant4702.test", "Ben", OTHER_TENANT);
+        userDirectory.invalidate(TENANT);
+        userDirectory.invalidate(OTHER_TENANT);
+    }
+
+    @Test
+    void resolvesNamesWithinTheTenantOnly() {
+        Long ana = userId("ana@tenant4701.test");
+        Long ben = userId("ben@tenant4702.test");
+
+        assertEquals("Ana", userDirectory.name(TENANT, ana));
+        assertNull(userDirectory.name(TENANT, ben));
+        assertNull(userDirectory.name(TENANT, null));
+        assertEquals("Ben", userDirectory.name(OTHER_TENANT, ben));
+    }
+
+    @Test
+    void registerAndUpdateRefreshTheTenant() throws Exception {
+        assertEquals(1, userDirectory.forTenant(TENANT).size());
+
+        MvcResult registered = mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+            .content("{\"email\":\"cy@tenant4701.test\",\"password\":\"secret\",\"name\":\"Cy\","
+                + "\"companyName\":\"Tenant 4701\",\"tenantID\":4701}"))
+            .andReturn();
+        mockMvc.perform(asyncDispatch(registered)).andExpect(status().isOk());
+        Long cy = userId("cy@tenant4701.test");
+        assertEquals("Cy", userDirectory.name(TENANT, cy));
+
+        mockMvc.perform(put("/api/auth/users/" + cy).contentType(MediaType.APPLICATION_JSON)
+            .content("{\"email\":\"cy@tenant4701.test\",\"name\":\"Cyrus\","
+                + "\"companyName\":\"Tenant 4702\",\"tenantID\":4702}"))
+            .andExpect(status().isOk());
+        assertNull(userDirectory.name(TENANT, cy));
+        assertEquals("Cyrus", userDirectory.name(OTHER_TENANT, cy));
+    }
+
+    private void insertUser(String email, String name, long tenantId) {
+        jdbcTemplate.update("INSERT INTO users (email, password, name, company_name, employment_status, is_deleted,"
+            + " tenantid) VALUES (?, 'x', ?, 'Directory', 0, FALSE, ?)", email, name, tenantId);
+    }
+
+    private Long userId(String email) {
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+    }
+}
@@ -4,7 +4,9 @@ export interface ProductSku {
   colour?: string | null;
   size?: string | null;
   quantityAvailable: number;
+  reorderThreshold?: number | null;
   image?: string | null;
+  imageVariants?: Record<string, string>;
   productId?: number | null;
   tenantID?: number | null;
 }
@@ -3,6 +3,7 @@ export interface Product {
   productName: string;
   description?: string | null;
   productImage?: string | null;
+  productImageVariants?: Record<string, string>;
   createdBy?: number | null;
   tenantid?: number | null;
   tenantID?: number | null;
@@ -100,6 +100,15 @@ export class StockDetails implements OnInit {
     return `http://localhost:8080${path}`;
   }
 
+  // Variants are rendered in the background after upload; show the original until they exist.
+  useOriginalImage(event: Event, path?: string | null): void {
+    const img = event.target as HTMLImageElement;
+    const original = this.resolveImage(path);
+    if (original && img.src !== original) {
+      img.src = original;
+    }
+  }
+
   updateSearch(term: string): void {
     this.searchTerm$.next(term ?? '');
   }
@@ -105,6 +105,14 @@ export class ProductService {
     );
   }
 
+  setReorderThresholds(tenantId: number, thresholds: { skuId: number; threshold: number | null }[]) {
+    return this.http.put<{ updated: number; unknownSkuIds: number[] }>(
+      `${this.skuUrl}/tenant/${tenantId}/reorder-thresholds`,
+      thresholds,
+      { withCredentials: true }
+    );
+  }
+
   deleteSku(skuId: number) {
     return this.http.delete(
       `${this.skuUrl}/${skuId}`,
@@ -0,0 +1,26 @@
+import { Injectable } from '@angular/core';
+import { HttpClient } from '@angular/common/http';
+import { environment } from '../../enviroment/enviroment';
+
+export interface SearchHit {
+  productId: number;
+  productName: string;
+  skuId?: number | null;
+  skuCode?: string | null;
+  colour?: string | null;
+  size?: string | null;
+}
+
+@Injectable({ providedIn: 'root' })
+export class SearchService {
+  private baseUrl = `${environment.apiBaseUrl}/search`;
+
+  constructor(private http: HttpClient) {}
+
+  search(tenantId: number, q: string, limit = 10) {
+    return this.http.get<SearchHit[]>(
+      `${this.baseUrl}/tenant/${tenantId}`,
+      { params: { q, limit }, withCredentials: true }
+    );
+  }
+}
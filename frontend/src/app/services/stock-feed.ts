@@ -0,0 +1,43 @@
+import { Injectable, NgZone } from '@angular/core';
+import { Observable } from 'rxjs';
+import { environment } from '../../enviroment/enviroment';
+
+export interface StockLevel {
+  skuId: number;
+  quantityAvailable: number;
+  version: number;
+}
+
+export interface StockLevelEvent {
+  type: 'IN' | 'OUT';
+  documentId: number;
+  runningNumber: string;
+  levels: StockLevel[];
+}
+
+// Pushed after every finalize of the tenant's documents; EventSource reconnects by itself.
+// Events of concurrent finalizes can arrive out of order, so a level older than the last one
+// seen for its SKU is dropped.
+@Injectable({ providedIn: 'root' })
+export class StockFeedService {
+  private baseUrl = `${environment.apiBaseUrl}/stock-feed`;
+
+  constructor(private zone: NgZone) {}
+
+  levels(tenantId: number): Observable<StockLevelEvent> {
+    return new Observable<StockLevelEvent>(subscriber => {
+      const versions = new Map<number, number>();
+      const source = new EventSource(`${this.baseUrl}/tenant/${tenantId}`, { withCredentials: true });
+      source.addEventListener('stock-levels', event => {
+        const data = JSON.parse((event as MessageEvent<string>).data) as StockLevelEvent;
+        const levels = data.levels.filter(level => level.version > (versions.get(level.skuId) ?? -1));
+        if (levels.length === 0) {
+          return;
+        }
+        levels.forEach(level => versions.set(level.skuId, level.version));
+        this.zone.run(() => subscriber.next({ ...data, levels }));
+      });
+      return () => source.close();
+    });
+  }
+}
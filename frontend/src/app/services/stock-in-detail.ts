@@ -10,6 +10,13 @@ export interface StockInDetail {
   stockInId?: number | null;
 }
 
+export interface StockImportReport {
+  imported: number;
+  rejected: number;
+  errors: { line: number; sku?: string | null; message: string }[];
+  errorsTruncated: boolean;
+}
+
 @Injectable({ providedIn: 'root' })
 export class StockInDetailService {
   private baseUrl = `${environment.apiBaseUrl}/stock-in-details`;
@@ -35,6 +42,16 @@ export class StockInDetailService {
     );
   }
 
+  importCsv(stockInId: number, file: File) {
+    const form = new FormData();
+    form.append('file', file);
+    return this.http.post<StockImportReport>(
+      `${this.baseUrl}/stock-in/${stockInId}/import`,
+      form,
+      { withCredentials: true }
+    );
+  }
+
   update(id: number, payload: {
     productName: string;
     sku?: string | null;
@@ -16,9 +16,12 @@ export interface StockIn {
   description?: string | null;
   date: string;
   createdBy?: number | null;
+  createdByName?: string | null;
   tenantId: number;
   finalized?: boolean;
   details?: StockInDetail[];
+  lineCount?: number;
+  totalQuantity?: number;
 }
 
 @Injectable({ providedIn: 'root' })
@@ -16,9 +16,12 @@ export interface StockOut {
   description?: string | null;
   date: string;
   createdBy?: number | null;
+  createdByName?: string | null;
   tenantId: number;
   finalized?: boolean;
   details?: StockOutDetail[];
+  lineCount?: number;
+  totalQuantity?: number;
 }
 
 @Injectable({ providedIn: 'root' })